@@ -1,16 +1,31 @@
 package com.mygdx.game;
 
+import android.content.Intent;
 import android.os.Bundle;
 
 import com.badlogic.gdx.backends.android.AndroidApplication;
 import com.badlogic.gdx.backends.android.AndroidApplicationConfiguration;
 import com.mygdx.game.FlappyGame;
+import com.mygdx.game.profiling.QualityGovernor;
 
+/**
+ * starts the game, the GameOptions can be given as extras of the intent (gradlew android:run
+ * -PlaunchExtras="--ez ghosts true --ez autoplay true"): ghosts races against the runs of the
+ * last session, autoplay lets the autopilot play (with ghosts, to watch the frame times of a big
+ * race in the profiler overlay and profile.csv), sim_thread steps the simulation on a thread of
+ * its own and quality (an int) pins the render scale and detail to a level
+ */
 public class AndroidLauncher extends AndroidApplication {
 	@Override
 	protected void onCreate (Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
 		AndroidApplicationConfiguration config = new AndroidApplicationConfiguration();
-		initialize(new FlappyGame(), config);
+		Intent intent = getIntent();
+		GameOptions options = new GameOptions();
+		options.ghosts = intent.getBooleanExtra("ghosts", false);
+		options.autoplay = intent.getBooleanExtra("autoplay", false);
+		options.simulationThread = intent.getBooleanExtra("sim_thread", false);
+		options.qualityLevel = intent.getIntExtra("quality", QualityGovernor.ADAPTIVE);
+		initialize(new FlappyGame(options), config);
 	}
 }
@@ -0,0 +1,129 @@
+package com.mygdx.game.benchmarks;
+
+import com.mygdx.game.sim.Actors;
+import com.mygdx.game.sim.AnimationSystem;
+import com.mygdx.game.sim.BirdBody;
+import com.mygdx.game.sim.CollisionSystem;
+import com.mygdx.game.sim.Difficulty;
+import com.mygdx.game.sim.GravitySystem;
+import com.mygdx.game.sim.MovementSystem;
+import com.mygdx.game.sim.ObstacleBuffer;
+import com.mygdx.game.sim.ObstacleGenerator;
+import com.mygdx.game.sim.ObstacleGrid;
+import com.mygdx.game.sim.RecycleSystem;
+import com.mygdx.game.sim.Simulation;
+import com.mygdx.game.sim.Sweep;
+import com.mygdx.game.sim.TubeBody;
+import com.mygdx.game.sim.Tuning;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the systems of the simulation stepped over a bird and a number of obstacles: a whole tick, the
+ * physics systems on their own and the collision system on its own. the obstacles are found
+ * through an ObstacleGrid, so the cost should stay the same from 4 to 10000 of them. scanCollision
+ * sweeps against every obstacle instead, to compare with. run with -prof gc to see a tick
+ * allocates nothing
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActorsBenchmark {
+
+    @Param({"4", "100", "1000", "10000"})
+    public int obstacles;
+
+    private Actors actors;
+    private int bird;
+    private ObstacleGrid grid;
+    private RecycleSystem recycler;
+    private CollisionSystem collisions;
+    private int tick;
+
+    @Setup
+    public void setUp() {
+        Tuning tuning = Tuning.DEFAULT;
+        actors = new Actors(obstacles + 1);
+        bird = actors.create(Actors.BODY | Actors.MOTION | Actors.GRAVITY | Actors.ANIMATION | Actors.SPRITE);
+        actors.place(bird, Simulation.START_X, Simulation.START_Y);
+        actors.setMotion(bird, BirdBody.MOVEMENT, tuning.getGravity());
+        actors.setAnimation(bird, BirdBody.FRAMES, BirdBody.FRAME_TIME);
+        for(int i = 0; i < obstacles; i++){
+            actors.create(Actors.BODY | Actors.OBSTACLE | Actors.SCORE | Actors.SPRITE);
+        }
+        grid = new ObstacleGrid(actors, ObstacleGenerator.TUBE_DISTANCE, obstacles);
+        recycler = new RecycleSystem(new ObstacleBuffer(1, tuning, Difficulty.DEFAULT), grid);
+        recycler.placeAll(actors);
+        collisions = new CollisionSystem(null, grid); // boxes only, so every tube is swept the same
+    }
+
+    @Benchmark
+    public float tick() {
+        float time = ++tick * Simulation.STEP;
+        physics(time);
+        recycler.step(actors, viewLeft(), time);
+        return collisions.sweep(actors, bird) + collisions.score(actors, bird);
+    }
+
+    @Benchmark
+    public float physics() {
+        physics(++tick * Simulation.STEP);
+        return actors.getY(bird);
+    }
+
+    @Benchmark
+    public float collision() {
+        return collisions.sweep(actors, bird);
+    }
+
+    @Benchmark
+    public float scanCollision() {
+        float impact = Sweep.MISS;
+        for(int i = 0; i < actors.getCount(); i++){
+            int a = actors.get(i);
+            if(!actors.has(a, Actors.OBSTACLE)){
+                continue;
+            }
+            float hit = TubeBody.sweep(actors.getPreviousX(bird), actors.getPreviousY(bird), actors.getX(bird),
+                    actors.getY(bird), BirdBody.WIDTH, BirdBody.HEIGHT, actors.getX(a), actors.getY(a), actors.getBottomY(a));
+            if(hit != Sweep.MISS && (impact == Sweep.MISS || hit < impact)){
+                impact = hit;
+            }
+        }
+        return impact;
+    }
+
+    /**
+     * moves everything a tick, jumping whenever the bird gets low so it keeps flying
+     */
+    private void physics(float time) {
+        if(actors.getY(bird) < 200){
+            actors.setMotion(bird, BirdBody.MOVEMENT, Tuning.DEFAULT.getGravity());
+            actors.place(bird, actors.getX(bird), 400);
+        }
+        GravitySystem.step(actors);
+        MovementSystem.step(actors, Simulation.STEP);
+        float left = viewLeft();
+        MovementSystem.step(actors, grid, left - TubeBody.WIDTH, left + Simulation.VIEW_WIDTH, time);
+        AnimationSystem.step(actors, Simulation.STEP);
+    }
+
+    private float viewLeft() {
+        return actors.getX(bird) + Simulation.CAMERA_OFFSET - Simulation.VIEW_WIDTH / 2;
+    }
+}
@@ -0,0 +1,49 @@
+package com.mygdx.game.benchmarks;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.mygdx.game.HeadlessGdx;
+import com.mygdx.game.sim.Simulation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import sprites.Animation;
+
+/**
+ * moving the bird animation along by one tick, on a stand-in texture the size of birdanimation.png
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimationBenchmark {
+
+    private Animation animation;
+
+    @Setup
+    public void setUp() {
+        HeadlessGdx.init();
+        Texture sheet = new Texture(102, 24, Pixmap.Format.RGBA8888);
+        animation = new Animation(new TextureRegion(sheet), 3, 0.5f);
+    }
+
+    @Benchmark
+    public TextureRegion update() {
+        animation.update(Simulation.STEP);
+        return animation.getFrame();
+    }
+}
@@ -0,0 +1,65 @@
+package com.mygdx.game.benchmarks;
+
+import com.mygdx.game.sim.Autopilot;
+import com.mygdx.game.sim.Difficulty;
+import com.mygdx.game.sim.Simulation;
+import com.mygdx.game.sim.Tuning;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * how long the autopilot takes to decide, from numbers alone (the table lookup, it should be a
+ * few nanoseconds) and from a whole simulation (finding the next tube and where it will be), and
+ * a tick of a bot flown run
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutopilotBenchmark {
+
+    private Autopilot autopilot;
+    private Simulation sim;
+    private float y = 180, velocityY = -100, ticks = 12, gapBottom = 150;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        autopilot = new Autopilot(Tuning.DEFAULT, Difficulty.DEFAULT);
+        sim = new Simulation(1);
+    }
+
+    @Benchmark
+    public boolean decideNumbers() {
+        return autopilot.shouldJump(y, velocityY, ticks, gapBottom, Tuning.DEFAULT.getTubeGap());
+    }
+
+    @Benchmark
+    public boolean decideSimulation() {
+        return autopilot.shouldJump(sim);
+    }
+
+    @Benchmark
+    public int flyTick() {
+        if(autopilot.shouldJump(sim)){
+            sim.jump();
+        }
+        if(!sim.step()){
+            sim.reset(++seed);
+        }
+        return sim.getTick();
+    }
+}
@@ -0,0 +1,81 @@
+package com.mygdx.game.benchmarks;
+
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.game.HeadlessGdx;
+import com.mygdx.game.sim.Simulation;
+import com.mygdx.game.states.GameStateManager;
+import com.mygdx.game.states.PlayState;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the game as the GameStateManager runs it, with no drawing: restarting a run (by resetting the
+ * state in place, and by replacing it with a new one), and a scripted game loop (a tap every
+ * TAP_INTERVAL ticks, dying and restarting as it goes) measured in ticks per second.
+ * that restart and tick allocate nothing is checked by core's RestartAllocationTest, this only
+ * times them
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLoopBenchmark {
+
+    private static final int TAP_INTERVAL = 22;
+
+    private GameStateManager gsm;
+    private PrintStream out;
+    private int ticks;
+
+    @Setup
+    public void setUp() {
+        HeadlessGdx.init();
+        out = System.out;
+        System.setOut(HeadlessGdx.nullPrintStream()); // every restart prints a dispose message
+
+        gsm = HeadlessGdx.newStateManager();
+        gsm.push(new PlayState(gsm));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(out);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void restart() {
+        gsm.restart();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void replace() {
+        gsm.set(new PlayState(gsm));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void tick() {
+        if(++ticks % TAP_INTERVAL == 0){
+            gsm.getInput().tap(TimeUtils.nanoTime());
+        }
+        gsm.update(Simulation.STEP);
+    }
+}
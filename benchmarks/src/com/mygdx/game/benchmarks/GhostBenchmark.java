@@ -0,0 +1,68 @@
+package com.mygdx.game.benchmarks;
+
+import com.mygdx.game.replay.GhostLoader;
+import com.mygdx.game.replay.ReplayRecorder;
+import com.mygdx.game.sim.GhostRace;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * one tick of a ghost race, every ghost flown from its jumps, with runs that jump every 15 to 35
+ * ticks and die after 10 to 100 seconds (a run starts over when the longest one has died)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GhostBenchmark {
+
+    @Param({"100", "1000"})
+    public int ghosts;
+
+    private GhostRace race;
+    private int longest;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(1);
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        ReplayRecorder recorder = new ReplayRecorder(file);
+        for(int i = 0; i < ghosts; i++){
+            recorder.startRun(i);
+            int death = 600 + random.nextInt(5400);
+            for(int tick = 15 + random.nextInt(20); tick < death; tick += 15 + random.nextInt(20)){
+                recorder.jump(tick);
+            }
+            recorder.endRun(death, 0);
+            longest = Math.max(longest, death);
+        }
+        race = GhostLoader.load(new ByteArrayInputStream(file.toByteArray()), ghosts);
+    }
+
+    @Benchmark
+    public int tick() {
+        if(race.getTick() >= longest){
+            race.reset();
+        }
+        race.step();
+        return race.getAliveCount();
+    }
+}
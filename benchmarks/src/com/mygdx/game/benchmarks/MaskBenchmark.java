@@ -0,0 +1,94 @@
+package com.mygdx.game.benchmarks;
+
+import com.mygdx.game.assets.AssetCache;
+import com.mygdx.game.sim.BirdBody;
+import com.mygdx.game.sim.BitMask;
+import com.mygdx.game.sim.CollisionMasks;
+import com.mygdx.game.sim.Simulation;
+import com.mygdx.game.sim.TubeBody;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the pixel narrowphase of a bird against a tube, it should stay well under a microsecond a test
+ *
+ * overlapHit stops at the first shared word, overlapMiss is the worst case: the boxes overlap as
+ * much as they can without any solid pixels meeting, so every shared row is checked. hitsTube is
+ * the full check Simulation runs on a tick whose boxes hit (one test per pixel of movement)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaskBenchmark {
+
+    private CollisionMasks masks;
+    private BitMask bird, tube;
+    private int tubeX = 200, tubeY = -100;
+    private int hitX, hitY, missX, missY;
+
+    @Setup
+    public void setUp() throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream(AssetCache.MASKS));
+        try {
+            masks = CollisionMasks.read(in);
+        } finally {
+            in.close();
+        }
+        bird = masks.getBird(0);
+        tube = masks.getBottomTube();
+
+        // the bird in the middle of the top of the bottom tube
+        hitX = tubeX + 10;
+        hitY = tubeY + tube.getHeight() - 10;
+
+        // the position where the boxes share the most pixels without the masks touching
+        int best = -1;
+        for(int x = tubeX - bird.getWidth() + 1; x < tubeX + tube.getWidth(); x++){
+            for(int y = tubeY + tube.getHeight() - bird.getHeight() + 1; y < tubeY + tube.getHeight(); y++){
+                int area = (Math.min(x + bird.getWidth(), tubeX + tube.getWidth()) - Math.max(x, tubeX))
+                        * (tubeY + tube.getHeight() - y);
+                if(area > best && !BitMask.overlaps(bird, x, y, tube, tubeX, tubeY)){
+                    best = area;
+                    missX = x;
+                    missY = y;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean overlapHit() {
+        return BitMask.overlaps(bird, hitX, hitY, tube, tubeX, tubeY);
+    }
+
+    @Benchmark
+    public boolean overlapMiss() {
+        return BitMask.overlaps(bird, missX, missY, tube, tubeX, tubeY);
+    }
+
+    @Benchmark
+    public float hitsTube() {
+        // a falling bird one tick from where it just misses, the box hit is at the start of the tick
+        float dx = BirdBody.MOVEMENT * Simulation.STEP;
+        return masks.hitsTube(0, missX - dx, missY + 8, missX, missY, 0, tubeX,
+                tubeY + tube.getHeight() + TubeBody.GAP, tubeY);
+    }
+}
@@ -0,0 +1,159 @@
+package com.mygdx.game.benchmarks;
+
+import com.mygdx.game.sim.Actors;
+import com.mygdx.game.sim.AnimationSystem;
+import com.mygdx.game.sim.BirdBody;
+import com.mygdx.game.sim.CollisionSystem;
+import com.mygdx.game.sim.Difficulty;
+import com.mygdx.game.sim.GravitySystem;
+import com.mygdx.game.sim.MovementSystem;
+import com.mygdx.game.sim.ObstacleChunk;
+import com.mygdx.game.sim.ObstacleGenerator;
+import com.mygdx.game.sim.ObstacleGrid;
+import com.mygdx.game.sim.Simulation;
+import com.mygdx.game.sim.Tuning;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the per tick hot paths of the simulation on a single actor: moving the bird, testing it against
+ * a tube (standing still, and swept along a tick of movement), moving a tube to the front and up
+ * and down, and making a chunk of tubes. ActorsBenchmark runs the same systems over a whole world
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhysicsBenchmark {
+
+    private Actors flying; // only the bird that birdStep moves
+    private int bird;
+
+    private Actors world; // a still tube, a moving tube and a box for every collision case
+    private ObstacleGrid grid;
+    private CollisionSystem collisions;
+    private int moving;
+    private int miss, hit, edge; // boxes standing where they miss the tube, hit it, and only just miss its edge
+    private int sweepMiss, sweepHit; // boxes that moved onto the miss and hit positions on the last tick
+    private float movingX;
+
+    private ObstacleGenerator generator;
+    private ObstacleChunk chunk;
+    private long nextChunk;
+    private int nextTube;
+    private float time;
+
+    @Setup
+    public void setUp() {
+        flying = new Actors(1);
+        bird = flying.create(Actors.BODY | Actors.MOTION | Actors.GRAVITY | Actors.ANIMATION);
+        flying.place(bird, Simulation.START_X, Simulation.START_Y);
+        flying.setMotion(bird, BirdBody.MOVEMENT, Tuning.DEFAULT.getGravity());
+        flying.setAnimation(bird, BirdBody.FRAMES, BirdBody.FRAME_TIME);
+
+        generator = new ObstacleGenerator(Tuning.DEFAULT, Difficulty.DEFAULT);
+        chunk = new ObstacleChunk();
+        world = new Actors(8);
+        grid = new ObstacleGrid(world, ObstacleGenerator.TUBE_DISTANCE, 2);
+
+        generator.generate(1, 0, chunk);
+        int tube = world.create(Actors.BODY | Actors.OBSTACLE);
+        world.placeObstacle(tube, chunk, 0, 0); // the first tube of a run is still, at 177
+        grid.update(tube);
+        generator.generate(1, 20, chunk); // far enough in for the tubes to move
+        moving = world.create(Actors.BODY | Actors.OBSTACLE);
+        world.placeObstacle(moving, chunk, 0, 0);
+        grid.update(moving);
+        movingX = world.getX(moving);
+
+        float left = world.getX(tube);
+        miss = box(left - 177, 300);
+        hit = box(left + 23, 500);
+        edge = box(left - BirdBody.WIDTH, 300);
+        sweepMiss = box(left - 179, 300);
+        sweepHit = box(left + 21, 500);
+        world.setMotion(sweepMiss, 2 / Simulation.STEP, 0);
+        world.setMotion(sweepHit, 2 / Simulation.STEP, 0);
+        MovementSystem.step(world, Simulation.STEP); // only the two sweep boxes have MOTION
+
+        collisions = new CollisionSystem(null, grid); // boxes only, MaskBenchmark has the pixels
+    }
+
+    private int box(float x, float y) {
+        int id = world.create(Actors.BODY);
+        world.place(id, x, y);
+        return id;
+    }
+
+    @Benchmark
+    public float birdStep() {
+        GravitySystem.step(flying);
+        MovementSystem.step(flying, Simulation.STEP);
+        AnimationSystem.step(flying, Simulation.STEP);
+        if(flying.getY(bird) < 100){
+            // keep it flying instead of resting on the ground
+            flying.place(bird, flying.getX(bird), Simulation.START_Y);
+            flying.setMotion(bird, BirdBody.MOVEMENT, Tuning.DEFAULT.getGravity());
+        }
+        return flying.getY(bird);
+    }
+
+    @Benchmark
+    public float tubeCollidesMiss() {
+        return collisions.sweep(world, miss);
+    }
+
+    @Benchmark
+    public float tubeCollidesHit() {
+        return collisions.sweep(world, hit);
+    }
+
+    @Benchmark
+    public float tubeCollidesEdge() {
+        return collisions.sweep(world, edge);
+    }
+
+    @Benchmark
+    public float tubeSweepMiss() {
+        return collisions.sweep(world, sweepMiss);
+    }
+
+    @Benchmark
+    public float tubeSweepHit() {
+        return collisions.sweep(world, sweepHit);
+    }
+
+    @Benchmark
+    public float tubePlace() {
+        nextTube = (nextTube + 1) % ObstacleGenerator.CHUNK_TUBES;
+        world.placeObstacle(moving, chunk, nextTube, time);
+        grid.update(moving);
+        return world.getY(moving);
+    }
+
+    @Benchmark
+    public float tubeMove() {
+        time += Simulation.STEP;
+        MovementSystem.step(world, grid, movingX, movingX, time);
+        return world.getY(moving);
+    }
+
+    @Benchmark
+    public float generateChunk() {
+        generator.generate(1, nextChunk++, chunk);
+        return chunk.getTop(0);
+    }
+}
@@ -0,0 +1,76 @@
+package com.mygdx.game.benchmarks;
+
+import com.mygdx.game.stats.RunStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * what ending a run costs the game (handing it to the writer thread) and how long the menu waits
+ * to open a store that already holds a million runs
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RunStoreBenchmark {
+
+    private static final int RUNS = 1000000;
+
+    private File log, index;
+    private RunStore store;
+    private long seed;
+
+    @Setup
+    public void setUp() throws IOException {
+        log = File.createTempFile("runs", ".log");
+        index = File.createTempFile("runs", ".idx");
+        log.delete();
+        index.delete();
+        RunStore filler = new RunStore(log, index);
+        filler.start();
+        for(int i = 0; i < RUNS; i++){
+            while(!filler.record(i, i % 1000, i % 5000, RunStore.DIED_ON_TUBE)){
+                Thread.yield(); // the writer is behind
+            }
+        }
+        filler.stop();
+        store = new RunStore(log, index);
+        store.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.stop();
+        log.delete();
+        index.delete();
+    }
+
+    @Benchmark
+    public boolean record() {
+        return store.record(++seed, 10, 600, RunStore.DIED_ON_GROUND);
+    }
+
+    @Benchmark
+    public int open() {
+        RunStore opened = new RunStore(log, index);
+        int best = opened.getLeaderboard().getBestScore();
+        opened.stop();
+        return best;
+    }
+}
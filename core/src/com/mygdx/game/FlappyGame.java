@@ -1,12 +1,39 @@
 package com.mygdx.game;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
 import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.game.assets.AssetCache;
+import com.mygdx.game.assets.SpriteAtlas;
+import com.mygdx.game.audio.AudioService;
+import com.mygdx.game.audio.GdxAudioBackend;
+import com.mygdx.game.audio.NullAudioBackend;
+import com.mygdx.game.input.InputQueue;
+import com.mygdx.game.profiling.FrameProfiler;
+import com.mygdx.game.profiling.LatencyTracker;
+import com.mygdx.game.profiling.ProfilerOverlay;
+import com.mygdx.game.profiling.QualityGovernor;
+import com.mygdx.game.profiling.RenderStats;
+import com.mygdx.game.profiling.StartupTrace;
+import com.mygdx.game.replay.GhostLoader;
+import com.mygdx.game.replay.ReplayRecorder;
+import com.mygdx.game.sim.CollisionMasks;
+import com.mygdx.game.sim.GhostRace;
 import com.mygdx.game.states.GameStateManager;
-import com.mygdx.game.states.MenuState;
+import com.mygdx.game.states.LoadingState;
+import com.mygdx.game.stats.RunStore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
 
 /**
  * the game class holding the entire game, details, states and what is in the game
@@ -17,40 +44,215 @@ public class FlappyGame extends ApplicationAdapter {
 	public static final int WIDTH = 480;
 	public static final int HEIGHT = 800;
 	public static final String TITLE = "Flappy Bird";
+	public static final String REPLAY_FILE = "replays/last-session.rep"; // every run of the last session
+	public static final String MUSIC = "music.mp3";
+	public static final String FLAP_SOUND = "sfx_wing.ogg";
+	public static final String PROFILE_FILE = "profile.csv"; // frame phase and input latency percentiles of the last session
+	public static final String RUNS_FILE = "runs/runs.log"; // how every run ever played ended
+	public static final String RUNS_INDEX = "runs/runs.idx"; // the best runs, so the log is not read at startup
+	public static final int MAX_GHOSTS = 1000; // most runs of the last session raced against
+	public static final Color BACKGROUND = new Color(1, 0, 0, 1); // shown where nothing is drawn
 
 	private GameStateManager gsm; // class controlling every state of the game
 	private SpriteBatch batch; // all the images used in the game
+	private AssetCache assets; // every texture and sound, loaded once and shared
+	private AudioService audio; // plays the sound effects, off the game thread on android
+	private ReplayRecorder recorder; // the seed and jumps of every run, to play them back later
+	private RunStore runs; // the score and length of every run of every session
+	private InputQueue input; // every tap with the time it happened
+	private LatencyTracker latency; // time from a tap to the frame that shows its jump
 
 	private Music music; // the music played throughout the game
+	private RenderStats renderStats; // draw calls and texture binds of every frame the overlay shows
+	private FrameProfiler profiler; // times every phase of every frame
+	private ProfilerOverlay overlay; // shows the timings on screen (F3 or three fingers)
+	private StartupTrace trace; // time to first frame and time to interactive
+	private QualityGovernor quality; // lowers the render scale and detail when frames miss their budget
+	private long frameStart; // when the last frame started, 0 before the first
+	private final GameOptions options; // how the game runs, set by the launcher
+
+	/**
+	 * makes the game as it ships
+	 */
+	public FlappyGame () {
+		this(new GameOptions());
+	}
+
+	/**
+	 * makes the game
+	 * @param options the GameOptions of how it runs, read when it is created
+	 */
+	public FlappyGame (GameOptions options) {
+		this.options = options;
+	}
+
+	/**
+	 * whether a run is being played, the play state is on top
+	 * @return boolean true if it is
+	 */
+	public boolean isPlaying () {
+		return gsm != null && gsm.isPlaying();
+	}
+
+	/**
+	 * gets the governor of the render scale and detail, once the game is created
+	 * @return the QualityGovernor
+	 */
+	public QualityGovernor getQuality () {
+		return quality;
+	}
 
 	/**
 	 * creates the game with the sprite batch (all animations),
+	 * the asset cache shared by every state,
 	 * the game state manager to manage all states of the game,
-	 * music
+	 * and starts loading every asset the menu and game need in the background.
+	 * the music is only started once the first frame is on screen (see render)
 	 */
 	@Override
 	public void create () {
-		batch = new SpriteBatch(); // all images and animations used
-		gsm = new GameStateManager(); // game state manager for all states
+		trace = new StartupTrace();
+		batch = new SpriteBatch(options.ghosts ? MAX_GHOSTS + 1000 : 1000); // all images and animations used, big enough for a frame in one flush
+		renderStats = new RenderStats();
+		profiler = new FrameProfiler();
+		latency = new LatencyTracker();
+		quality = new QualityGovernor(1000000000L / refreshRate());
+		quality.pin(options.qualityLevel);
+		overlay = new ProfilerOverlay(profiler, renderStats, latency, quality);
+		assets = new AssetCache();
+		audio = newAudio();
+		GhostRace race = options.ghosts ? loadGhosts() : null; // before the recorder writes over the file
+		recorder = new ReplayRecorder(Gdx.files.local(REPLAY_FILE).write(false, 8192));
+		FileHandle runsFile = Gdx.files.local(RUNS_FILE);
+		runsFile.parent().mkdirs();
+		runs = new RunStore(runsFile.file(), Gdx.files.local(RUNS_INDEX).file());
+		runs.start();
+		input = new InputQueue();
+		Gdx.input.setInputProcessor(input);
+		gsm = new GameStateManager(assets, audio, recorder, runs, profiler, input, latency); // game state manager for all states
+		gsm.setSimulationThread(options.simulationThread);
+		gsm.setAutoplay(options.autoplay);
+		gsm.setGhosts(race);
+		gsm.setScript(options.script);
+		gsm.setQuality(quality);
+		gsm.buildAutopilot(); // made while the assets load, for the menu demo
 
-		//play the music throughout the entirety of the game
-		music = Gdx.audio.newMusic(Gdx.files.internal("music.mp3"));
-		music.setLooping(true);
-		music.setVolume(0.1f);
-		music.play();
+		// everything the menu and play state use, loaded while the loading state shows progress
+		assets.preload(AssetCache.SPRITES, SpriteAtlas.class);
+		assets.preload(AssetCache.MASKS, CollisionMasks.class);
+		assets.preload(FLAP_SOUND, Sound.class);
+		assets.preload(MUSIC, Music.class);
+
+		Gdx.gl.glClearColor(BACKGROUND.r, BACKGROUND.g, BACKGROUND.b, BACKGROUND.a); // initialize the background colors
+		gsm.push(new LoadingState(gsm, trace)); // the loading state moves on to the menu once it is done
+	}
+
+	/**
+	 * how many frames a second the screen shows, 60 when it can not be told (no screen, or a
+	 * screen that says 0)
+	 */
+	private int refreshRate () {
+		Graphics.DisplayMode mode = Gdx.graphics.getDisplayMode();
+		return mode != null && mode.refreshRate >= 30 ? mode.refreshRate : 60;
+	}
+
+	/**
+	 * makes the sound effect player: silent with no sound device, and on a thread of its own where
+	 * the sound system can be called from any thread (SoundPool on android, not OpenAL on desktop)
+	 */
+	private AudioService newAudio () {
+		if(Gdx.app.getType() == Application.ApplicationType.HeadlessDesktop){
+			return new AudioService(new NullAudioBackend());
+		}
+		AudioService service = new AudioService(new GdxAudioBackend(assets));
+		if(Gdx.app.getType() == Application.ApplicationType.Android){
+			service.start();
+		}
+		return service;
+	}
 
-		Gdx.gl.glClearColor(1, 0, 0, 1); // initialize the background colors
-		gsm.push(new MenuState(gsm)); // place a menu state on the stack of the game state manager
+	/**
+	 * reads the runs of the last session as ghosts
+	 * @return the GhostRace, null if there is no replay file or it could not be read
+	 */
+	private GhostRace loadGhosts () {
+		FileHandle file = Gdx.files.local(REPLAY_FILE);
+		if(!file.exists()){
+			return null;
+		}
+		InputStream in = file.read(8192);
+		try {
+			GhostRace race = GhostLoader.load(in, MAX_GHOSTS);
+			System.out.println("Racing " + race.getGhosts() + " ghosts");
+			return race;
+		} catch (IOException e) {
+			System.out.println("Could not read ghosts from " + REPLAY_FILE + ": " + e.getMessage());
+			return null;
+		} finally {
+			try {
+				in.close();
+			} catch (IOException ignored) {
+			}
+		}
 	}
 
 	/**
-	 * renders everything on screen
+	 * renders everything on screen, and tells the quality governor how long the frame took
 	 */
 	@Override
 	public void render () {
+		long start = TimeUtils.nanoTime();
+		profiler.begin(FrameProfiler.FRAME);
 		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-		gsm.update(Gdx.graphics.getDeltaTime());
+		overlay.handleInput();
+		renderStats.setCounting(overlay.isVisible()); // counting gl calls stalls on the gpu, only when they are shown
+		gsm.update(options.frameDelta > 0 ? options.frameDelta : Gdx.graphics.getDeltaTime());
+		renderStats.frameStart(batch);
 		gsm.render(batch); // places the batch file in the game
+		audio.update(); // starts the sounds of the frame when they have no thread of their own
+		renderStats.frameEnd(batch);
+		profiler.end(FrameProfiler.FRAME);
+		profiler.endFrame();
+		long shown = TimeUtils.nanoTime();
+		latency.frameShown(shown);
+		if(frameStart != 0){
+			quality.frame(start - frameStart, shown - start);
+		}
+		frameStart = start;
+
+		overlay.render(batch); // drawn after the frame is timed so it does not measure itself
+		trace.frameShown();
+		startMusic();
+	}
+
+	/**
+	 * plays the music throughout the entirety of the game, starting once the first frame
+	 * has been drawn and the music has loaded
+	 */
+	private void startMusic () {
+		if(music != null || !trace.hasFirstFrame() || !assets.isLoaded(MUSIC)){
+			return;
+		}
+		music = assets.music(MUSIC);
+		music.setLooping(true);
+		music.setVolume(0.1f);
+		music.play();
+	}
+
+	/**
+	 * the game went into the background
+	 */
+	@Override
+	public void pause () {
+		gsm.pause();
+	}
+
+	/**
+	 * the game came back from the background
+	 */
+	@Override
+	public void resume () {
+		gsm.resume();
 	}
 
 	/**
@@ -58,7 +260,46 @@ public class FlappyGame extends ApplicationAdapter {
 	 */
 	@Override
 	public void dispose () {
+		writeProfile();
+		gsm.dispose(); // stops a simulation thread before the recorder and run store are closed
 		batch.dispose();
-		music.dispose();
+		overlay.dispose();
+		renderStats.dispose();
+		if(music != null){
+			assets.release(MUSIC);
+		}
+		audio.dispose(); // gives the sounds back before the cache is disposed
+		assets.dispose();
+		recorder.close();
+		runs.stop();
+		printQuality();
+	}
+
+	/**
+	 * prints what the quality governor decided over the session, with how many frames were at
+	 * each level, to tune its thresholds on a device
+	 */
+	private void printQuality () {
+		StringBuilder levels = new StringBuilder();
+		for(int level = 0; level < QualityGovernor.LEVELS; level++){
+			levels.append(level == 0 ? "" : " ").append(quality.getFramesAt(level));
+		}
+		String pinned = quality.getPinned() == QualityGovernor.ADAPTIVE ? "" : " (pinned)";
+		System.out.println("Quality (level: " + quality.getLevel() + pinned + ", drops: " + quality.getDrops() + ", raises: "
+				+ quality.getRaises() + ", missed frames: " + quality.getMissed() + ", frames at each level: " + levels + ")");
+	}
+
+	/**
+	 * writes the frame timings and input latency of the session to a csv file
+	 */
+	private void writeProfile () {
+		Writer out = Gdx.files.local(PROFILE_FILE).writer(false);
+		try {
+			profiler.writeCsv(out);
+			latency.getHistogram().writeCsvRow(out, "tap_to_frame");
+			out.close();
+		} catch (IOException e) {
+			System.out.println("Could not write " + PROFILE_FILE + ": " + e.getMessage());
+		}
 	}
 }
@@ -0,0 +1,19 @@
+package com.mygdx.game;
+
+import com.mygdx.game.profiling.QualityGovernor;
+import com.mygdx.game.replay.ReplayScript;
+
+/**
+ * how a FlappyGame runs, filled in by a launcher (from the command line on desktop, from the
+ * extras of the intent on android) and handed to the game when it is made. the defaults are the
+ * game as it ships
+ */
+public class GameOptions {
+
+    public boolean simulationThread; // step the play state on a thread of its own, so a slow tick never delays a frame
+    public boolean autoplay; // let the autopilot start and play every run, to leave a build running overnight
+    public boolean ghosts; // race against the runs of the last session
+    public ReplayScript script; // recorded runs played instead of the player (on the render thread), null for the player
+    public float frameDelta; // time every frame steps the game by in seconds, 0 for the time the frame took
+    public int qualityLevel = QualityGovernor.ADAPTIVE; // the level the render scale and detail are pinned to
+}
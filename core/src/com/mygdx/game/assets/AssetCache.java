@@ -0,0 +1,229 @@
+package com.mygdx.game.assets;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.game.sim.CollisionMasks;
+
+/**
+ * one shared place every state and sprite gets its textures and sounds from
+ *
+ * each file is loaded the first time it is asked for and then handed out again to everyone else
+ * who asks, counting how many owners it has. the file is only disposed when the last owner releases
+ * it, so restarting a play state (which makes the new state before the old one is disposed) never
+ * has to load anything from disk again
+ *
+ * files can also be preloaded at startup: they are queued with preload and loaded a bit at a time
+ * by calling update every frame. the files are read and decoded on the AssetManager's background
+ * thread, only the upload to the gpu happens in update, within the time given to it. a preloaded
+ * file is owned by the cache itself so it stays loaded until the cache is disposed
+ */
+public class AssetCache implements Disposable {
+
+    public static final String SPRITES = "sprites.txt"; // the list of images packed into the sprite atlas
+    public static final String MASKS = "masks.bin"; // the collision pixels of the bird and tubes, made by MaskBaker
+
+    private final AssetManager manager; // does the actual loading and unloading of the files
+    private final ObjectMap<String, Integer> references; // how many owners each loaded file has
+
+    // counters so we can check that a restart does not load anything
+    private int hits;
+    private int misses;
+    private long loadNanos;
+
+    /**
+     * constructor method, starts with an empty cache
+     */
+    public AssetCache() {
+        manager = new AssetManager();
+        manager.setLoader(SpriteAtlas.class, new SpriteAtlasLoader(manager.getFileHandleResolver()));
+        manager.setLoader(CollisionMasks.class, new CollisionMasksLoader(manager.getFileHandleResolver()));
+        references = new ObjectMap<String, Integer>();
+    }
+
+    /**
+     * gets a texture, loading it only if nobody else is using it yet
+     * @param path the file name of the texture in the assets folder
+     * @return the shared Texture, must be given back with release(path)
+     */
+    public Texture texture(String path) {
+        return acquire(path, Texture.class);
+    }
+
+    /**
+     * gets the atlas every game sprite is packed into, loading it only if nobody else is using it yet
+     * @return the shared SpriteAtlas, must be given back with release(SPRITES)
+     */
+    public SpriteAtlas sprites() {
+        return acquire(SPRITES, SpriteAtlas.class);
+    }
+
+    /**
+     * gets the collision masks of the bird and tubes, loading them only if nobody else is using them yet
+     * @return the shared CollisionMasks, must be given back with release(MASKS)
+     */
+    public CollisionMasks masks() {
+        return acquire(MASKS, CollisionMasks.class);
+    }
+
+    /**
+     * gets a sound effect, loading it only if nobody else is using it yet
+     * @param path the file name of the sound in the assets folder
+     * @return the shared Sound, must be given back with release(path)
+     */
+    public Sound sound(String path) {
+        return acquire(path, Sound.class);
+    }
+
+    /**
+     * gets a music track, loading it only if nobody else is using it yet
+     * @param path the file name of the music in the assets folder
+     * @return the shared Music, must be given back with release(path)
+     */
+    public Music music(String path) {
+        return acquire(path, Music.class);
+    }
+
+    /**
+     * queues a file to be loaded in the background by update, the cache itself becomes its first
+     * owner so it stays loaded for the whole game
+     * @param path the file name of the asset in the assets folder
+     * @param type the class of the asset
+     */
+    public void preload(String path, Class<?> type) {
+        Integer count = references.get(path);
+        if(count != null){
+            references.put(path, count + 1);
+            return;
+        }
+        misses++;
+        manager.load(path, type);
+        references.put(path, 1);
+    }
+
+    /**
+     * loads some of the preloaded files, to be called once per frame until it returns true
+     * @param millis how long it may spend uploading to the gpu this frame as an int
+     * @return boolean true once every preloaded file is loaded
+     */
+    public boolean update(int millis) {
+        long start = TimeUtils.nanoTime();
+        boolean done = manager.update(millis);
+        loadNanos += TimeUtils.nanoTime() - start;
+        return done;
+    }
+
+    /**
+     * how much of the preloading is done
+     * @return the progress from 0 to 1 as a float
+     */
+    public float getProgress() {
+        return manager.getProgress();
+    }
+
+    /**
+     * checks if a file is loaded and ready to be handed out without waiting
+     * @param path the file name of the asset
+     * @return boolean true if it is loaded
+     */
+    public boolean isLoaded(String path) {
+        return manager.isLoaded(path);
+    }
+
+    /**
+     * hands out the asset and adds one owner to it
+     * @param path the file name of the asset
+     * @param type the class of the asset
+     * @return the loaded asset
+     */
+    private <T> T acquire(String path, Class<T> type) {
+        Integer count = references.get(path);
+
+        if(count != null){
+            hits++;
+            references.put(path, count + 1);
+            if(!manager.isLoaded(path)){
+                // preloaded but not finished yet, wait for just this file
+                long start = TimeUtils.nanoTime();
+                manager.finishLoadingAsset(path);
+                loadNanos += TimeUtils.nanoTime() - start;
+            }
+            return manager.get(path, type);
+        }
+
+        // first owner, load it now and remember how long that took
+        misses++;
+        long start = TimeUtils.nanoTime();
+        manager.load(path, type);
+        T asset = manager.finishLoadingAsset(path);
+        loadNanos += TimeUtils.nanoTime() - start;
+
+        references.put(path, 1);
+        return asset;
+    }
+
+    /**
+     * gives an asset back, once every owner has given it back it is disposed
+     * @param path the file name of the asset that was handed out
+     */
+    public void release(String path) {
+        Integer count = references.get(path);
+        if(count == null){
+            return;
+        }
+
+        if(count > 1){
+            references.put(path, count - 1);
+        } else {
+            references.remove(path);
+            manager.unload(path);
+        }
+    }
+
+    /**
+     * how many times an asset was already loaded when asked for
+     * @return the number of cache hits as an int
+     */
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * how many times an asset had to be loaded from disk
+     * @return the number of cache misses as an int
+     */
+    public int getMisses() {
+        return misses;
+    }
+
+    /**
+     * total time spent loading assets from disk
+     * @return the load time in nanoseconds as a long
+     */
+    public long getLoadNanos() {
+        return loadNanos;
+    }
+
+    /**
+     * how many different files are loaded right now
+     * @return the number of loaded assets as an int
+     */
+    public int getLoadedCount() {
+        return references.size;
+    }
+
+    /**
+     * disposes everything still loaded, only to be used when the game closes
+     */
+    @Override
+    public void dispose() {
+        System.out.println("Asset cache disposed (hits: " + hits + ", misses: " + misses
+                + ", load time: " + (loadNanos / 1000000) + "ms)");
+        references.clear();
+        manager.dispose();
+    }
+}
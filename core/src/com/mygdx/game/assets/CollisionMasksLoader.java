@@ -0,0 +1,65 @@
+package com.mygdx.game.assets;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.mygdx.game.sim.CollisionMasks;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * loads the CollisionMasks written by MaskBaker, the whole file is read off the render thread
+ * since there is nothing to upload to the gpu
+ */
+public class CollisionMasksLoader extends AsynchronousAssetLoader<CollisionMasks, CollisionMasksLoader.CollisionMasksParameter> {
+
+    private CollisionMasks masks; // read in loadAsync, handed out in loadSync
+
+    /**
+     * constructor method
+     * @param resolver finds the mask file
+     */
+    public CollisionMasksLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, CollisionMasksParameter parameter) {
+        InputStream in = new BufferedInputStream(file.read());
+        try {
+            masks = CollisionMasks.read(in);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read " + fileName, e);
+        } finally {
+            try {
+                in.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    @Override
+    public CollisionMasks loadSync(AssetManager manager, String fileName, FileHandle file, CollisionMasksParameter parameter) {
+        CollisionMasks loaded = masks;
+        masks = null;
+        return loaded;
+    }
+
+    @Override
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, CollisionMasksParameter parameter) {
+        return null;
+    }
+
+    /**
+     * no options for now
+     */
+    public static class CollisionMasksParameter extends AssetLoaderParameters<CollisionMasks> {
+    }
+}
@@ -0,0 +1,66 @@
+package com.mygdx.game.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * every game sprite packed into one texture, so a whole frame can be drawn without the
+ * SpriteBatch ever switching textures (and flushing)
+ *
+ * the packed images are kept so the texture can be rebuilt if the gl context is lost
+ */
+public class SpriteAtlas implements Disposable {
+
+    // libGDX's own font, its page is packed in the atlas (see sprites.txt)
+    private static final String FONT = "com/badlogic/gdx/utils/arial-15.fnt";
+    private static final String FONT_PAGE = "arial-15";
+
+    private final PixmapPacker packer; // holds the packed images the texture is made from
+    private final TextureAtlas atlas;
+
+    /**
+     * constructor method, takes over the packer and the atlas made from it
+     * @param packer the PixmapPacker the images were packed with
+     * @param atlas the TextureAtlas generated from the packer
+     */
+    public SpriteAtlas(PixmapPacker packer, TextureAtlas atlas) {
+        this.packer = packer;
+        this.atlas = atlas;
+    }
+
+    /**
+     * gets the part of the atlas holding one of the images
+     * @param name the image file name without the extension (for example "toptube")
+     * @return the TextureRegion of the image
+     */
+    public TextureRegion findRegion(String name) {
+        TextureRegion region = atlas.findRegion(name);
+        if(region == null){
+            throw new GdxRuntimeException("Sprite not in atlas: " + name);
+        }
+        return region;
+    }
+
+    /**
+     * makes libGDX's default font drawn from its page in the atlas, so text does not switch
+     * textures in the middle of a frame like new BitmapFont() would
+     * @return the BitmapFont, to be disposed by the caller (the atlas texture stays)
+     */
+    public BitmapFont newFont() {
+        return new BitmapFont(Gdx.files.classpath(FONT), findRegion(FONT_PAGE), false);
+    }
+
+    /**
+     * deletes the atlas texture and the packed images
+     */
+    @Override
+    public void dispose() {
+        atlas.dispose();
+        packer.dispose();
+    }
+}
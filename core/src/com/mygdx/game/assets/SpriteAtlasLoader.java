@@ -0,0 +1,76 @@
+package com.mygdx.game.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * loads a SpriteAtlas from a text file listing one image per line
+ *
+ * the images are decoded and packed off the render thread, only making the texture from the
+ * packed page happens on the render thread. an image is found in the atlas by its file name
+ * without the extension. a line starting with classpath: names an image on the classpath instead
+ * of in the assets, like the page of libGDX's own font
+ */
+public class SpriteAtlasLoader extends AsynchronousAssetLoader<SpriteAtlas, SpriteAtlasLoader.SpriteAtlasParameter> {
+
+    private static final int PAGE_SIZE = 1024;
+    private static final int PADDING = 2; // space between sprites so they do not bleed into each other
+    private static final String CLASSPATH = "classpath:";
+
+    private PixmapPacker packer; // packed in loadAsync, turned into a texture in loadSync
+
+    /**
+     * constructor method
+     * @param resolver finds the list file and the images
+     */
+    public SpriteAtlasLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, SpriteAtlasParameter parameter) {
+        packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, PADDING, true);
+
+        for(String line : file.readString().split("\n")){
+            String image = line.trim();
+            if(image.length() == 0){
+                continue;
+            }
+
+            FileHandle imageFile = image.startsWith(CLASSPATH)
+                    ? Gdx.files.classpath(image.substring(CLASSPATH.length()))
+                    : resolve(image);
+            Pixmap pixmap = new Pixmap(imageFile);
+            packer.pack(imageFile.nameWithoutExtension(), pixmap);
+            pixmap.dispose();
+        }
+    }
+
+    @Override
+    public SpriteAtlas loadSync(AssetManager manager, String fileName, FileHandle file, SpriteAtlasParameter parameter) {
+        SpriteAtlas atlas = new SpriteAtlas(packer,
+                packer.generateTextureAtlas(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest, false));
+        packer = null;
+        return atlas;
+    }
+
+    @Override
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, SpriteAtlasParameter parameter) {
+        return null;
+    }
+
+    /**
+     * no options for now
+     */
+    public static class SpriteAtlasParameter extends AssetLoaderParameters<SpriteAtlas> {
+    }
+}
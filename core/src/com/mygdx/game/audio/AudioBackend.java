@@ -0,0 +1,35 @@
+package com.mygdx.game.audio;
+
+/**
+ * what actually makes the sounds for the AudioService, so the service can be run with no sound
+ * device (NullAudioBackend) in headless runs and benchmarks
+ */
+public interface AudioBackend {
+
+    /**
+     * gets a sound ready to be played, called on the game thread
+     * @param path the file of the sound
+     * @return the handle to play the sound with as an int
+     */
+    int load(String path);
+
+    /**
+     * starts a new voice of a sound
+     * @param sound the handle from load as an int
+     * @param volume from 0 to 1 as a float
+     * @return the id of the voice as a long, -1 if it could not be played
+     */
+    long play(int sound, float volume);
+
+    /**
+     * stops a voice, nothing happens if it already finished
+     * @param sound the handle from load as an int
+     * @param voice the id play gave as a long
+     */
+    void stop(int sound, long voice);
+
+    /**
+     * gives back every sound, called on the game thread
+     */
+    void dispose();
+}
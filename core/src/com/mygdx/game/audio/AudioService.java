@@ -0,0 +1,220 @@
+package com.mygdx.game.audio;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * plays the short sound effects of the game, so a burst of taps can not pile up voices or make
+ * the game thread wait on the sound system
+ *
+ * the game thread only writes (effect, volume) into a fixed ring (one writer and one reader sharing
+ * a head and tail counter, like the InputQueue) and the requests are started by the reader: a
+ * thread of its own, or the game thread once a frame through update where the sound system is not
+ * safe to call from another thread (OpenAL on desktop). every effect has a most voices it can play
+ * at once, a new voice over it stops the oldest one still playing (steals it). a play that does not
+ * fit in the ring is dropped. played, stolen and dropped are counted
+ */
+public class AudioService {
+
+    private static final int CAPACITY = 64; // must be a power of 2
+    private static final int MASK = CAPACITY - 1;
+    private static final int MAX_EFFECTS = 16;
+
+    private final AudioBackend backend;
+
+    // the ring of play requests
+    private final int[] requestEffect = new int[CAPACITY];
+    private final float[] requestVolume = new float[CAPACITY];
+    private final AtomicInteger head = new AtomicInteger(); // next request to start
+    private final AtomicInteger tail = new AtomicInteger(); // next free slot
+
+    // every effect, written by load on the game thread before any of its requests
+    private final String[] paths = new String[MAX_EFFECTS];
+    private final int[] sounds = new int[MAX_EFFECTS]; // handles of the backend
+    private final long[] lengths = new long[MAX_EFFECTS]; // how long a voice plays in nanoseconds
+    private final long[][] voices = new long[MAX_EFFECTS][]; // voices started, oldest at oldest[effect]
+    private final long[][] started = new long[MAX_EFFECTS][]; // when each voice started (System.nanoTime)
+    private final int[] oldest = new int[MAX_EFFECTS];
+    private int effects;
+
+    private volatile int played;
+    private volatile int stolen;
+    private int dropped;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * constructor method, the requests are started by update until start is called
+     * @param backend what plays the sounds
+     */
+    public AudioService(AudioBackend backend) {
+        this.backend = backend;
+    }
+
+    /**
+     * starts the requests on a thread of their own from now on, only for backends that can be
+     * called from any thread
+     */
+    public void start() {
+        if(thread != null){
+            return;
+        }
+        running = true;
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while(running){
+                    if(!startAll()){
+                        LockSupport.park(this);
+                    }
+                }
+            }
+        }, "audio");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * gets an effect ready to play, loading the same file again gives the same effect
+     * @param path the file of the sound, already loaded into the asset cache
+     * @param maxVoices how many of it can play at once as an int
+     * @param seconds how long the sound is as a float, a voice older than that is finished
+     * @return the effect to play as an int
+     */
+    public int load(String path, int maxVoices, float seconds) {
+        for(int i = 0; i < effects; i++){
+            if(paths[i].equals(path)){
+                return i;
+            }
+        }
+        if(effects == MAX_EFFECTS){
+            throw new IllegalStateException("more than " + MAX_EFFECTS + " sound effects");
+        }
+        int effect = effects;
+        paths[effect] = path;
+        sounds[effect] = backend.load(path);
+        lengths[effect] = (long) (seconds * 1000000000L);
+        voices[effect] = new long[maxVoices];
+        started[effect] = new long[maxVoices];
+        effects++;
+        return effect;
+    }
+
+    /**
+     * asks for an effect to be played, only to be called from the game thread. allocates nothing
+     * and never waits
+     * @param effect the effect from load as an int
+     * @param volume from 0 to 1 as a float
+     * @return boolean true if it will be played, false if the ring was full
+     */
+    public boolean play(int effect, float volume) {
+        int t = tail.get();
+        if(t - head.get() == CAPACITY){
+            dropped++;
+            return false;
+        }
+        int slot = t & MASK;
+        requestEffect[slot] = effect;
+        requestVolume[slot] = volume;
+        tail.lazySet(t + 1); // publishes the request written above
+        if(thread != null){
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    /**
+     * starts the waiting requests, to be called once a frame from the game thread when there is
+     * no audio thread
+     */
+    public void update() {
+        if(thread == null){
+            startAll();
+        }
+    }
+
+    /**
+     * starts every waiting request
+     * @return boolean true if there were any
+     */
+    private boolean startAll() {
+        int h = head.get();
+        if(h == tail.get()){
+            return false;
+        }
+        long now = System.nanoTime();
+        while(h != tail.get()){
+            int slot = h & MASK;
+            startVoice(requestEffect[slot], requestVolume[slot], now);
+            h++;
+            head.lazySet(h); // frees the slot for the game thread
+        }
+        return true;
+    }
+
+    /**
+     * plays an effect in the place of its oldest voice, stopping that voice if it is still playing
+     */
+    private void startVoice(int effect, float volume, long now) {
+        long[] playing = voices[effect];
+        long[] times = started[effect];
+        int at = oldest[effect];
+        if(times[at] != 0 && now - times[at] < lengths[effect]){
+            backend.stop(sounds[effect], playing[at]);
+            stolen++;
+        }
+
+        long voice = backend.play(sounds[effect], volume);
+        if(voice == -1){
+            times[at] = 0;
+            return;
+        }
+        playing[at] = voice;
+        times[at] = now;
+        oldest[effect] = (at + 1) % playing.length;
+        played++;
+    }
+
+    /**
+     * stops the audio thread and gives every sound back
+     */
+    public void dispose() {
+        if(thread != null){
+            running = false;
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+        backend.dispose();
+        System.out.println("Audio (played: " + played + ", stolen: " + stolen + ", dropped: " + dropped + ")");
+    }
+
+    /**
+     * gets how many voices were started
+     * @return the number of voices as an int
+     */
+    public int getPlayed() {
+        return played;
+    }
+
+    /**
+     * gets how many voices were stopped early to make room for a new one
+     * @return the number of stolen voices as an int
+     */
+    public int getStolen() {
+        return stolen;
+    }
+
+    /**
+     * gets how many plays were lost because the ring was full
+     * @return the number of dropped plays as an int
+     */
+    public int getDropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,54 @@
+package com.mygdx.game.audio;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.Array;
+import com.mygdx.game.assets.AssetCache;
+
+/**
+ * plays sounds borrowed from the asset cache. libGDX decodes a Sound to pcm once when it is
+ * loaded (an OpenAL buffer on desktop, a SoundPool sample on Android), so playing one only
+ * starts a voice
+ */
+public class GdxAudioBackend implements AudioBackend {
+
+    private final AssetCache assets;
+    private final Array<Sound> sounds = new Array<Sound>();
+    private final Array<String> paths = new Array<String>();
+
+    /**
+     * constructor method
+     * @param assets the AssetCache the sounds are borrowed from, they must be loaded before load is called
+     */
+    public GdxAudioBackend(AssetCache assets) {
+        this.assets = assets;
+    }
+
+    @Override
+    public int load(String path) {
+        sounds.add(assets.sound(path));
+        paths.add(path);
+        return sounds.size - 1;
+    }
+
+    @Override
+    public long play(int sound, float volume) {
+        return sounds.get(sound).play(volume);
+    }
+
+    @Override
+    public void stop(int sound, long voice) {
+        sounds.get(sound).stop(voice);
+    }
+
+    /**
+     * gives every sound back to the asset cache
+     */
+    @Override
+    public void dispose() {
+        for(String path : paths){
+            assets.release(path);
+        }
+        sounds.clear();
+        paths.clear();
+    }
+}
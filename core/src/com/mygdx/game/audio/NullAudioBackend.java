@@ -0,0 +1,40 @@
+package com.mygdx.game.audio;
+
+/**
+ * plays nothing but hands out voice ids and counts the calls, for headless runs and benchmarks
+ */
+public class NullAudioBackend implements AudioBackend {
+
+    private int sounds;
+    private long nextVoice;
+    private int plays;
+    private int stops;
+
+    @Override
+    public int load(String path) {
+        return sounds++;
+    }
+
+    @Override
+    public long play(int sound, float volume) {
+        plays++;
+        return nextVoice++;
+    }
+
+    @Override
+    public void stop(int sound, long voice) {
+        stops++;
+    }
+
+    @Override
+    public void dispose() {
+    }
+
+    public int getPlays() {
+        return plays;
+    }
+
+    public int getStops() {
+        return stops;
+    }
+}
@@ -0,0 +1,117 @@
+package com.mygdx.game.input;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * collects every tap (a touch, a click or the space key) with the time it happened, so the
+ * simulation can apply each jump on the tick it really happened on instead of once per frame,
+ * and two taps in one frame stay two jumps
+ *
+ * the taps are kept in a fixed ring of timestamps with one writer (the input thread) and one
+ * reader (whoever steps the simulation). the two sides only share the head and tail counters,
+ * so neither side ever locks or allocates. if the ring is full the tap is dropped and counted
+ */
+public class InputQueue extends InputAdapter {
+
+    private static final int CAPACITY = 64; // must be a power of 2
+    private static final int MASK = CAPACITY - 1;
+    private static final long MAX_AGE = 100000000; // event times older than 100ms (or in the future) are not trusted
+
+    private final long[] times = new long[CAPACITY]; // System.nanoTime of every tap
+    private final AtomicInteger head = new AtomicInteger(); // next tap to read
+    private final AtomicInteger tail = new AtomicInteger(); // next free slot
+    private int dropped;
+
+    @Override
+    public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        return tap(eventTime());
+    }
+
+    @Override
+    public boolean keyDown(int keycode) {
+        if(keycode == Input.Keys.SPACE){
+            return tap(eventTime());
+        }
+        return false;
+    }
+
+    /**
+     * gets when the event being handled happened. the backends stamp events with their own clock,
+     * which is not always the same clock as System.nanoTime, so a time that is in the future or
+     * too old to be real falls back to now (the tap then just lands on the tick of this frame)
+     * @return the time of the event (System.nanoTime) as a long
+     */
+    private long eventTime() {
+        long now = TimeUtils.nanoTime();
+        long time = Gdx.input.getCurrentEventTime();
+        if(time > now || now - time > MAX_AGE){
+            return now;
+        }
+        return time;
+    }
+
+    /**
+     * adds a tap, only to be called from the one thread that writes taps
+     * @param nanos when the tap happened (System.nanoTime) as a long
+     * @return boolean true if the tap was kept, false if the queue was full
+     */
+    public boolean tap(long nanos) {
+        int t = tail.get();
+        if(t - head.get() == CAPACITY){
+            dropped++;
+            return false;
+        }
+        times[t & MASK] = nanos;
+        tail.lazySet(t + 1); // publishes the time written above
+        return true;
+    }
+
+    /**
+     * checks for a tap that happened at or before a time, only to be called by the reader
+     * @param nanos the time to check against (System.nanoTime) as a long
+     * @return boolean true if the oldest tap happened at or before the time
+     */
+    public boolean hasTapBefore(long nanos) {
+        int h = head.get();
+        return h != tail.get() && times[h & MASK] <= nanos;
+    }
+
+    /**
+     * checks for any tap, only to be called by the reader
+     * @return boolean true if there is a tap waiting
+     */
+    public boolean hasTap() {
+        return head.get() != tail.get();
+    }
+
+    /**
+     * takes the oldest tap off the queue, only to be called by the reader after a has-tap check
+     * @return when the tap happened (System.nanoTime) as a long
+     */
+    public long poll() {
+        int h = head.get();
+        long nanos = times[h & MASK];
+        head.lazySet(h + 1); // frees the slot for the writer
+        return nanos;
+    }
+
+    /**
+     * throws away every waiting tap, only to be called by the reader
+     */
+    public void clear() {
+        head.lazySet(tail.get());
+    }
+
+    /**
+     * gets how many taps were lost because the queue was full
+     * @return the number of dropped taps as an int
+     */
+    public int getDropped() {
+        return dropped;
+    }
+}
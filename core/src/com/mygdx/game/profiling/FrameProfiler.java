@@ -0,0 +1,108 @@
+package com.mygdx.game.profiling;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * times the phases of every frame (input, physics, collision, recycling, rendering) with
+ * System.nanoTime and keeps a Histogram of each phase: rolling percentiles of the last frames for
+ * the overlay, and every frame of the session for the csv written on exit
+ *
+ * a phase can be timed more than once in a frame (physics runs once per tick), the times are
+ * added up into the frame. nothing in here allocates after it is made
+ */
+public class FrameProfiler {
+
+    public static final int INPUT = 0;
+    public static final int PHYSICS = 1;
+    public static final int COLLISION = 2;
+    public static final int RECYCLE = 3;
+    public static final int RENDER = 4;
+    public static final int FRAME = 5; // the whole frame, update and render together
+    public static final int PHASES = 6;
+
+    private static final String[] NAMES = {"input", "physics", "collision", "recycle", "render", "frame"};
+
+    private final long[] started = new long[PHASES];
+    private final long[] current = new long[PHASES]; // time spent in each phase this frame
+    private final Histogram[] histograms = new Histogram[PHASES];
+
+    /**
+     * constructor method, one empty histogram per phase
+     */
+    public FrameProfiler() {
+        for(int phase = 0; phase < PHASES; phase++){
+            histograms[phase] = new Histogram();
+        }
+    }
+
+    /**
+     * starts timing a phase
+     * @param phase one of the phase constants
+     */
+    public void begin(int phase) {
+        started[phase] = System.nanoTime();
+    }
+
+    /**
+     * stops timing a phase and adds the time to this frame
+     * @param phase one of the phase constants
+     */
+    public void end(int phase) {
+        current[phase] += System.nanoTime() - started[phase];
+    }
+
+    /**
+     * stores the times of the frame that just finished and starts a new one
+     */
+    public void endFrame() {
+        for(int phase = 0; phase < PHASES; phase++){
+            histograms[phase].record(current[phase]);
+            current[phase] = 0;
+        }
+    }
+
+    /**
+     * gets a percentile of a phase over the last Histogram.WINDOW frames
+     * @param phase one of the phase constants
+     * @param percentile from 0 to 100 as a float
+     * @return the time in nanoseconds as a long
+     */
+    public long windowPercentile(int phase, float percentile) {
+        return histograms[phase].windowPercentile(percentile);
+    }
+
+    /**
+     * gets a percentile of a phase over every frame of the session, to the nearest 10 microseconds
+     * @param phase one of the phase constants
+     * @param percentile from 0 to 100 as a float
+     * @return the time in nanoseconds as a long
+     */
+    public long sessionPercentile(int phase, float percentile) {
+        return histograms[phase].totalPercentile(percentile);
+    }
+
+    /**
+     * writes the csv header and the session percentiles of every phase (one row per phase, in microseconds)
+     * @param out where to write the csv, it is not closed
+     */
+    public void writeCsv(Writer out) throws IOException {
+        out.write("phase,samples,p50_us,p95_us,p99_us,max_us\n");
+        for(int phase = 0; phase < PHASES; phase++){
+            histograms[phase].writeCsvRow(out, NAMES[phase]);
+        }
+    }
+
+    /**
+     * gets the name of a phase
+     * @param phase one of the phase constants
+     * @return the name as a String
+     */
+    public static String getName(int phase) {
+        return NAMES[phase];
+    }
+
+    public int getFrames() {
+        return histograms[FRAME].getCount();
+    }
+}
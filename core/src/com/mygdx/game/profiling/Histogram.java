@@ -0,0 +1,87 @@
+package com.mygdx.game.profiling;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * keeps a stream of timings two ways: the last WINDOW samples, for rolling percentiles on screen,
+ * and every sample ever recorded in 10 microsecond buckets, for the csv written on exit.
+ * nothing in here allocates after it is made
+ */
+public class Histogram {
+
+    public static final int WINDOW = 256; // samples the rolling percentiles are taken over
+    private static final int BUCKET_NANOS = 10000;
+    private static final int BUCKETS = 10000; // 10us buckets up to 100ms, anything slower goes in the last
+
+    private final long[] window = new long[WINDOW];
+    private final int[] buckets = new int[BUCKETS];
+    private final long[] scratch = new long[WINDOW]; // sorted copy of the window
+    private long worst;
+    private int count;
+
+    /**
+     * adds a sample
+     * @param nanos the timing in nanoseconds as a long
+     */
+    public void record(long nanos) {
+        window[count % WINDOW] = nanos;
+        buckets[(int) Math.min(Math.max(nanos, 0) / BUCKET_NANOS, BUCKETS - 1)]++;
+        worst = Math.max(worst, nanos);
+        count++;
+    }
+
+    /**
+     * gets a percentile of the last WINDOW samples
+     * @param percentile from 0 to 100 as a float
+     * @return the time in nanoseconds as a long
+     */
+    public long windowPercentile(float percentile) {
+        int size = Math.min(count, WINDOW);
+        if(size == 0){
+            return 0;
+        }
+        System.arraycopy(window, 0, scratch, 0, size);
+        Arrays.sort(scratch, 0, size);
+        return scratch[Math.min(size - 1, (int) (size * percentile / 100))];
+    }
+
+    /**
+     * gets a percentile of every sample, to the nearest 10 microseconds (rounded up)
+     * @param percentile from 0 to 100 as a float
+     * @return the time in nanoseconds as a long
+     */
+    public long totalPercentile(float percentile) {
+        long target = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+        for(int i = 0; i < BUCKETS; i++){
+            seen += buckets[i];
+            if(seen >= target && seen > 0){
+                return (long) (i + 1) * BUCKET_NANOS;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * writes one csv row: name, samples, p50, p95, p99 and max in microseconds
+     * @param out where to write the row
+     * @param name the first column as a String
+     */
+    public void writeCsvRow(Writer out, String name) throws IOException {
+        out.write(name + "," + count
+                + "," + totalPercentile(50) / 1000
+                + "," + totalPercentile(95) / 1000
+                + "," + totalPercentile(99) / 1000
+                + "," + worst / 1000 + "\n");
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getWorst() {
+        return worst;
+    }
+}
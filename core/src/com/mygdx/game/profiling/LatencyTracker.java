@@ -0,0 +1,36 @@
+package com.mygdx.game.profiling;
+
+/**
+ * measures touch to visible flap latency: the time from a tap to the end of the first frame
+ * drawn after the jump it caused was simulated
+ */
+public class LatencyTracker {
+
+    private final Histogram histogram = new Histogram();
+    private long pendingTap = -1; // oldest tap applied since the last frame, -1 if none
+
+    /**
+     * marks that a tap was turned into a jump, to be called when the simulation applies it
+     * @param tapNanos when the tap happened (System.nanoTime) as a long
+     */
+    public void jumpApplied(long tapNanos) {
+        if(pendingTap < 0){
+            pendingTap = tapNanos;
+        }
+    }
+
+    /**
+     * marks that a frame was drawn, records the latency of the tap applied since the last frame
+     * @param nowNanos the time the frame finished (System.nanoTime) as a long
+     */
+    public void frameShown(long nowNanos) {
+        if(pendingTap >= 0){
+            histogram.record(nowNanos - pendingTap);
+            pendingTap = -1;
+        }
+    }
+
+    public Histogram getHistogram() {
+        return histogram;
+    }
+}
@@ -0,0 +1,125 @@
+package com.mygdx.game.profiling;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.StringBuilder;
+
+/**
+ * shows the rolling p50/p95/p99 of every frame phase, the tap to frame latency, the render
+ * stats and what the quality governor decided on top of the game
+ *
+ * toggled with F3, or by touching the screen with three fingers. the text is rebuilt into the same
+ * StringBuilder and the percentiles are only worked out every REFRESH frames, so showing the
+ * overlay does not allocate anything per frame
+ */
+public class ProfilerOverlay {
+
+    private static final int REFRESH = 30; // frames between percentile updates
+
+    private final FrameProfiler profiler;
+    private final RenderStats renderStats;
+    private final LatencyTracker latency;
+    private final QualityGovernor quality;
+    private final BitmapFont font;
+    private final Matrix4 projection; // draws in screen pixels, whatever the camera of the state
+    private final StringBuilder text;
+
+    private boolean visible;
+    private boolean toggleHeld; // so holding three fingers down only toggles once
+    private int framesSinceRefresh = REFRESH;
+
+    /**
+     * constructor method
+     * @param profiler the FrameProfiler to show
+     * @param renderStats the RenderStats to show
+     * @param latency the LatencyTracker to show
+     * @param quality the QualityGovernor to show
+     */
+    public ProfilerOverlay(FrameProfiler profiler, RenderStats renderStats, LatencyTracker latency, QualityGovernor quality) {
+        this.profiler = profiler;
+        this.renderStats = renderStats;
+        this.latency = latency;
+        this.quality = quality;
+        font = new BitmapFont();
+        projection = new Matrix4();
+        text = new StringBuilder(512);
+    }
+
+    /**
+     * checks if the overlay was toggled, to be called once per frame
+     */
+    public void handleInput() {
+        boolean toggle = Gdx.input.isTouched(2);
+        if(Gdx.input.isKeyJustPressed(Input.Keys.F3) || (toggle && !toggleHeld)){
+            visible = !visible;
+            framesSinceRefresh = REFRESH;
+        }
+        toggleHeld = toggle;
+    }
+
+    /**
+     * draws the overlay if it is visible
+     * @param sb the SpriteBatch to draw with (must not be drawing already)
+     */
+    public void render(SpriteBatch sb) {
+        if(!visible){
+            return;
+        }
+
+        if(++framesSinceRefresh >= REFRESH){
+            framesSinceRefresh = 0;
+            rebuildText();
+        }
+
+        projection.setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        sb.setProjectionMatrix(projection);
+        sb.begin();
+        font.draw(sb, text, 8, Gdx.graphics.getHeight() - 8);
+        sb.end();
+    }
+
+    /**
+     * writes the numbers into the text, reusing the same StringBuilder
+     */
+    private void rebuildText() {
+        text.setLength(0);
+        text.append("phase      p50   p95   p99 (us)\n");
+        for(int phase = 0; phase < FrameProfiler.PHASES; phase++){
+            text.append(FrameProfiler.getName(phase));
+            text.append("  ").append((int) (profiler.windowPercentile(phase, 50) / 1000));
+            text.append("  ").append((int) (profiler.windowPercentile(phase, 95) / 1000));
+            text.append("  ").append((int) (profiler.windowPercentile(phase, 99) / 1000));
+            text.append('\n');
+        }
+        Histogram taps = latency.getHistogram();
+        text.append("tap to frame");
+        text.append("  ").append((int) (taps.windowPercentile(50) / 1000));
+        text.append("  ").append((int) (taps.windowPercentile(95) / 1000));
+        text.append("  ").append((int) (taps.windowPercentile(99) / 1000));
+        text.append('\n');
+        text.append("draw calls ").append(renderStats.getDrawCalls());
+        text.append("  binds ").append(renderStats.getTextureBinds());
+        text.append("  flushes ").append(renderStats.getFlushes());
+        text.append("  max sprites/flush ").append(renderStats.getMaxSpritesPerFlush());
+        text.append("\nquality ").append(quality.getLevel());
+        text.append("  scale ").append((int) (quality.getRenderScale() * 100)).append('%');
+        text.append("  drops ").append(quality.getDrops());
+        text.append("  raises ").append(quality.getRaises());
+        text.append("  missed ").append(quality.getMissed());
+        text.append("\nfps ").append(Gdx.graphics.getFramesPerSecond());
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * deletes the font
+     */
+    public void dispose() {
+        font.dispose();
+    }
+}
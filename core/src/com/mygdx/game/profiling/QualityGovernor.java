@@ -0,0 +1,242 @@
+package com.mygdx.game.profiling;
+
+/**
+ * lowers how much the game draws when frames miss their budget and raises it again once there is
+ * room, so a slow gpu keeps its frame rate rather than its resolution
+ *
+ * the quality is a level from 0 (everything, at full resolution) down to LEVELS - 1. each level
+ * has a render scale (the scene is drawn into a smaller target and stretched over the screen),
+ * whether the far parallax layers are drawn and what share of the ghosts is drawn. frames are
+ * looked at in windows of WINDOW frames:
+ * - a frame missed if the time from its start to the start of the next one (the gpu and the wait
+ *   for vsync included) is over the budget by the miss factor. more than missLimit missed frames
+ *   in a window drops a level straight away
+ * - a window with no missed frame where nearly every frame's own work (update and render on the
+ *   cpu, which vsync does not stretch) took under the headroom share of the budget raises a level
+ * - a raise that is dropped again in the next window doubles the windows with room needed before
+ *   the next raise, so the game does not keep flipping between two levels
+ *
+ * every decision is counted (drops, raises, missed frames, frames at every level) so the numbers
+ * can be tuned per device class. nothing in here allocates after it is made
+ *
+ * a governor can be pinned to one level instead, it then still counts the frames and missed
+ * frames but never changes the level. a benchmark does that so every build draws the same
+ */
+public class QualityGovernor {
+
+    public static final int LEVELS = 6;
+    public static final int WINDOW = 60; // frames looked at before raising
+    public static final int ADAPTIVE = -1; // pinned level of a governor that changes the level itself
+    private static final float[] SCALES = {1, 0.875f, 0.75f, 0.75f, 0.625f, 0.5f};
+    private static final boolean[] FAR_LAYERS = {true, true, true, false, false, false};
+    private static final float[] GHOST_SHARES = {1, 1, 0.5f, 0.25f, 0.1f, 0};
+    private static final int STALL = 8; // a frame this many budgets long was a pause or a load, not drawing
+    private static final int MAX_BACKOFF = 32; // most windows with room waited for before a raise
+
+    private final long budget;
+    private final long missAfter; // a frame longer than this (start to start) missed
+    private final long roomUnder; // a frame whose work is shorter than this has room
+    private final int missLimit;
+
+    private int level;
+    private int pinned = ADAPTIVE;
+    private int frames; // frames of the window so far
+    private int misses;
+    private int roomy;
+    private int roomyWindows; // windows in a row with room
+    private int backoff = 1; // windows in a row with room needed to raise
+    private boolean raised; // the level was raised at the end of the last window
+
+    private int drops;
+    private int raises;
+    private long missed;
+    private final long[] framesAt = new long[LEVELS];
+
+    /**
+     * makes a governor for a 60hz screen
+     */
+    public QualityGovernor() {
+        this(1000000000L / 60);
+    }
+
+    /**
+     * makes a governor with the default thresholds: a frame misses at 1.2 budgets, has room under
+     * 0.6 of one, and 6 missed frames in a window drop a level
+     * @param budget the time a frame has in nanoseconds as a long, one refresh of the screen
+     */
+    public QualityGovernor(long budget) {
+        this(budget, 1.2f, 0.6f, 6);
+    }
+
+    /**
+     * constructor method
+     * @param budget the time a frame has in nanoseconds as a long
+     * @param missFactor how many budgets a frame can take before it missed as a float
+     * @param roomFactor the share of the budget a frame's work has to be under to have room as a float
+     * @param missLimit how many missed frames a window can have before a level is dropped as an int
+     */
+    public QualityGovernor(long budget, float missFactor, float roomFactor, int missLimit) {
+        this.budget = budget;
+        this.missAfter = (long) (budget * missFactor);
+        this.roomUnder = (long) (budget * roomFactor);
+        this.missLimit = missLimit;
+    }
+
+    /**
+     * looks at a frame that was just shown, to be called once per frame
+     * @param interval the time from the start of the last frame to the start of this one in nanoseconds as a long
+     * @param work the time this frame spent updating and rendering in nanoseconds as a long
+     */
+    public void frame(long interval, long work) {
+        if(interval > budget * STALL){
+            return;
+        }
+        framesAt[level]++;
+        frames++;
+        if(interval > missAfter){
+            misses++;
+            missed++;
+            if(misses > missLimit && pinned == ADAPTIVE){
+                drop();
+                return;
+            }
+        }
+        if(work < roomUnder){
+            roomy++;
+        }
+        if(frames < WINDOW){
+            return;
+        }
+
+        boolean room = misses == 0 && roomy >= WINDOW - WINDOW / 20;
+        roomyWindows = room ? roomyWindows + 1 : 0;
+        raised = false; // the last raise held for a whole window
+        if(room && level > 0 && roomyWindows >= backoff && pinned == ADAPTIVE){
+            level--;
+            raises++;
+            raised = true;
+            roomyWindows = 0;
+        }
+        startWindow();
+    }
+
+    /**
+     * keeps the quality at one level from now on, or lets the governor change it again
+     * @param level the level from 0 to LEVELS - 1 as an int, ADAPTIVE to change it with the frame times
+     */
+    public void pin(int level) {
+        if(level != ADAPTIVE && (level < 0 || level >= LEVELS)){
+            throw new IllegalArgumentException("quality level " + level + " is not between 0 and " + (LEVELS - 1));
+        }
+        pinned = level;
+        if(level != ADAPTIVE){
+            this.level = level;
+        }
+        raised = false;
+        roomyWindows = 0;
+        startWindow();
+    }
+
+    /**
+     * lowers the quality a level, waiting longer before the next raise if the last one did not hold
+     */
+    private void drop() {
+        if(raised){
+            backoff = Math.min(backoff * 2, MAX_BACKOFF);
+        }
+        raised = false;
+        roomyWindows = 0;
+        if(level < LEVELS - 1){
+            level++;
+            drops++;
+        }
+        startWindow();
+    }
+
+    private void startWindow() {
+        frames = 0;
+        misses = 0;
+        roomy = 0;
+    }
+
+    /**
+     * gets how big the scene is drawn compared to the screen
+     * @return the scale from 0.5 to 1 as a float
+     */
+    public float getRenderScale() {
+        return SCALES[level];
+    }
+
+    /**
+     * whether the layers behind the bird and tubes are drawn, without them the sky is one colour
+     * @return boolean true if they are
+     */
+    public boolean isFarLayers() {
+        return FAR_LAYERS[level];
+    }
+
+    /**
+     * gets the share of the ghosts that is drawn
+     * @return from 0 to 1 as a float
+     */
+    public float getGhostShare() {
+        return GHOST_SHARES[level];
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * gets the level the governor is pinned to
+     * @return the level as an int, ADAPTIVE if it is not pinned
+     */
+    public int getPinned() {
+        return pinned;
+    }
+
+    public long getBudget() {
+        return budget;
+    }
+
+    /**
+     * gets how many times the quality was lowered
+     * @return the number of drops as an int
+     */
+    public int getDrops() {
+        return drops;
+    }
+
+    /**
+     * gets how many times the quality was raised
+     * @return the number of raises as an int
+     */
+    public int getRaises() {
+        return raises;
+    }
+
+    /**
+     * gets how many frames took longer than the budget allows
+     * @return the number of missed frames as a long
+     */
+    public long getMissed() {
+        return missed;
+    }
+
+    /**
+     * gets how many frames were looked at while at a level
+     * @param level the level from 0 to LEVELS - 1 as an int
+     * @return the number of frames as a long
+     */
+    public long getFramesAt(int level) {
+        return framesAt[level];
+    }
+
+    /**
+     * gets how many windows in a row need room before the quality is raised again
+     * @return the number of windows as an int
+     */
+    public int getBackoff() {
+        return backoff;
+    }
+}
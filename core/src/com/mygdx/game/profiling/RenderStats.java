@@ -0,0 +1,113 @@
+package com.mygdx.game.profiling;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+
+/**
+ * counts the gl draw calls, texture binds and SpriteBatch flushes of each frame, and keeps the
+ * worst frame seen, so a change that breaks batching shows up as a number
+ *
+ * the flushes come from the SpriteBatch and are always counted. the draw calls and binds need a
+ * GLProfiler, which wraps Gdx.gl and checks glGetError after every call, a wait on the gpu every
+ * time. so it is only on while counting is asked for (the overlay is showing), otherwise they
+ * read 0 and the frame times of play and the QualityGovernor are not slowed by it
+ */
+public class RenderStats {
+
+    private final GLProfiler profiler; // counts gl calls by wrapping Gdx.gl, only while enabled
+
+    // the last frame
+    private int drawCalls;
+    private int textureBinds;
+    private int flushes;
+    private int maxSpritesPerFlush;
+
+    // the worst frame so far
+    private int worstDrawCalls;
+    private int worstTextureBinds;
+
+    /**
+     * constructor method, gl calls are not counted until setCounting
+     */
+    public RenderStats() {
+        profiler = new GLProfiler(Gdx.graphics);
+    }
+
+    /**
+     * starts or stops counting gl draw calls and texture binds, to be called between frames
+     * @param counting boolean true to count them
+     */
+    public void setCounting(boolean counting) {
+        if(counting == profiler.isEnabled()){
+            return;
+        }
+        if(counting){
+            profiler.enable();
+        } else {
+            profiler.disable();
+            drawCalls = 0;
+            textureBinds = 0;
+        }
+    }
+
+    /**
+     * clears the counters, to be called before anything is drawn in a frame
+     * @param sb the SpriteBatch the frame is drawn with
+     */
+    public void frameStart(SpriteBatch sb) {
+        profiler.reset();
+        sb.totalRenderCalls = 0;
+        sb.maxSpritesInBatch = 0;
+    }
+
+    /**
+     * reads the counters, to be called after everything is drawn in a frame
+     * @param sb the SpriteBatch the frame is drawn with
+     */
+    public void frameEnd(SpriteBatch sb) {
+        flushes = sb.totalRenderCalls;
+        maxSpritesPerFlush = sb.maxSpritesInBatch;
+        if(!profiler.isEnabled()){
+            return;
+        }
+        drawCalls = profiler.getDrawCalls();
+        textureBinds = profiler.getTextureBindings();
+
+        worstDrawCalls = Math.max(worstDrawCalls, drawCalls);
+        worstTextureBinds = Math.max(worstTextureBinds, textureBinds);
+    }
+
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    public int getTextureBinds() {
+        return textureBinds;
+    }
+
+    public int getFlushes() {
+        return flushes;
+    }
+
+    public int getMaxSpritesPerFlush() {
+        return maxSpritesPerFlush;
+    }
+
+    public int getWorstDrawCalls() {
+        return worstDrawCalls;
+    }
+
+    public int getWorstTextureBinds() {
+        return worstTextureBinds;
+    }
+
+    /**
+     * stops counting gl calls
+     */
+    public void dispose() {
+        setCounting(false);
+        System.out.println("Render stats (worst counted frame draw calls: " + worstDrawCalls
+                + ", texture binds: " + worstTextureBinds + ")");
+    }
+}
@@ -0,0 +1,72 @@
+package com.mygdx.game.profiling;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * times the cold start of the game from when it is made (at the start of create):
+ * time to first frame is when the first frame (the loading screen) has been drawn, and time to
+ * interactive is when every asset is loaded and the menu is ready for a tap
+ */
+public class StartupTrace {
+
+    private final long start;
+    private long firstFrame = -1; // nanoseconds after start, -1 until it happens
+    private long assetsLoaded = -1;
+    private long interactive = -1;
+
+    /**
+     * constructor method, starts the clock
+     */
+    public StartupTrace() {
+        start = TimeUtils.nanoTime();
+    }
+
+    /**
+     * marks the end of a frame, only the first one is kept
+     */
+    public void frameShown() {
+        if(firstFrame < 0){
+            firstFrame = TimeUtils.nanoTime() - start;
+        }
+    }
+
+    /**
+     * marks that every preloaded asset is ready
+     */
+    public void assetsLoaded() {
+        if(assetsLoaded < 0){
+            assetsLoaded = TimeUtils.nanoTime() - start;
+        }
+    }
+
+    /**
+     * marks that the game takes input, prints the trace the first time
+     */
+    public void interactive() {
+        if(interactive < 0){
+            interactive = TimeUtils.nanoTime() - start;
+            System.out.println("Startup: first frame " + getFirstFrameMillis() + "ms, assets loaded "
+                    + assetsLoaded / 1000000 + "ms, interactive " + getInteractiveMillis() + "ms");
+        }
+    }
+
+    public boolean hasFirstFrame() {
+        return firstFrame >= 0;
+    }
+
+    /**
+     * time to first frame
+     * @return the time in milliseconds as a long, -1 if there has not been a frame yet
+     */
+    public long getFirstFrameMillis() {
+        return firstFrame < 0 ? -1 : firstFrame / 1000000;
+    }
+
+    /**
+     * time to interactive
+     * @return the time in milliseconds as a long, -1 if the game is still loading
+     */
+    public long getInteractiveMillis() {
+        return interactive < 0 ? -1 : interactive / 1000000;
+    }
+}
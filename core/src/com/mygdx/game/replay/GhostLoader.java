@@ -0,0 +1,103 @@
+package com.mygdx.game.replay;
+
+import com.mygdx.game.sim.Difficulty;
+import com.mygdx.game.sim.GhostRace;
+import com.mygdx.game.sim.Tuning;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * reads the finished runs of a replay file as ghosts to race against
+ *
+ * the jumps are copied as they are in the file (varints), so a ghost takes about as many bytes as
+ * it jumped. when the file has more runs than are wanted, the longest lived ones are kept
+ */
+public final class GhostLoader {
+
+    private GhostLoader() {
+    }
+
+    /**
+     * reads the runs of a replay file
+     * @param in the replay file, should be buffered
+     * @param maxGhosts the most runs to keep as an int
+     * @return the GhostRace of the runs, with no ghosts if the file has no finished runs
+     * @throws IOException if it is not a replay file of this version
+     */
+    public static GhostRace load(InputStream in, int maxGhosts) throws IOException {
+        if(ReplayFormat.readLong(in) != ReplayFormat.MAGIC){
+            throw new IOException("not a replay file");
+        }
+        int version = ReplayFormat.readVarint(in);
+        if(version != ReplayFormat.VERSION){
+            throw new IOException("unknown replay version " + version);
+        }
+
+        ByteArrayOutputStream jumps = new ByteArrayOutputStream();
+        int[] start = new int[16];
+        int[] deathTick = new int[16];
+        int[] score = new int[16];
+        int runs = 0;
+        while(true){
+            int runStart = jumps.size();
+            try {
+                ReplayFormat.readLong(in); // the seed, ghosts do not fly through their own tubes
+                int code = ReplayFormat.readVarint(in);
+                while(code != ReplayFormat.END_OF_RUN){
+                    ReplayFormat.writeVarint(jumps, code);
+                    code = ReplayFormat.readVarint(in);
+                }
+                ReplayFormat.writeVarint(jumps, ReplayFormat.END_OF_RUN);
+                if(runs == start.length){
+                    start = Arrays.copyOf(start, runs * 2);
+                    deathTick = Arrays.copyOf(deathTick, runs * 2);
+                    score = Arrays.copyOf(score, runs * 2);
+                }
+                deathTick[runs] = ReplayFormat.readVarint(in);
+                score[runs] = ReplayFormat.readVarint(in);
+                start[runs] = runStart;
+                runs++;
+            } catch (EOFException e) {
+                break; // no more runs, or the last one was never finished
+            }
+        }
+
+        return best(jumps.toByteArray(), start, deathTick, score, runs, maxGhosts);
+    }
+
+    /**
+     * keeps the longest lived runs when there are more than maxGhosts
+     */
+    private static GhostRace best(byte[] jumps, int[] start, int[] deathTick, int[] score, int runs, int maxGhosts) {
+        int ghosts = Math.min(runs, maxGhosts);
+        if(ghosts < runs){
+            // sorts (death tick, run) pairs packed into longs, longest lived first
+            long[] order = new long[runs];
+            for(int i = 0; i < runs; i++){
+                order[i] = ((long) deathTick[i] << 32) | i;
+            }
+            Arrays.sort(order);
+            int[] keptStart = new int[ghosts];
+            int[] keptDeath = new int[ghosts];
+            int[] keptScore = new int[ghosts];
+            for(int i = 0; i < ghosts; i++){
+                int run = (int) order[runs - 1 - i];
+                keptStart[i] = start[run];
+                keptDeath[i] = deathTick[run];
+                keptScore[i] = score[run];
+            }
+            start = keptStart;
+            deathTick = keptDeath;
+            score = keptScore;
+        } else {
+            start = Arrays.copyOf(start, runs);
+            deathTick = Arrays.copyOf(deathTick, runs);
+            score = Arrays.copyOf(score, runs);
+        }
+        return new GhostRace(jumps, start, deathTick, score, Tuning.DEFAULT, Difficulty.DEFAULT);
+    }
+}
@@ -0,0 +1,86 @@
+package com.mygdx.game.replay;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * the layout of a replay file and the varint helpers used to read and write it
+ *
+ * a file is the header followed by any number of runs, every run is:
+ * the seed (8 bytes), then one varint per jump holding (ticks since the last jump + 1),
+ * then a 0, then the death tick and the score as varints.
+ * a run cut off before its 0 (the game was closed mid run) is not a finished run and is skipped
+ */
+public final class ReplayFormat {
+
+    public static final int MAGIC = 0x46425250; // "FBRP"
+    // 2: tubes are hit along the whole move of a tick (Sweep), 3: and on their pixels,
+    // 4: tubes come from seeded chunks that get harder (ObstacleGenerator), 5: the ramp tops out
+    // at a wider opening and slower tubes
+    public static final int VERSION = 5;
+    public static final int END_OF_RUN = 0;
+
+    private ReplayFormat() {
+    }
+
+    /**
+     * writes a number 7 bits at a time, small numbers (like the ticks between jumps) take one byte
+     * @param out the stream to write to
+     * @param value the number to write, must not be negative
+     */
+    public static void writeVarint(OutputStream out, int value) throws IOException {
+        while((value & ~0x7F) != 0){
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * reads a number written by writeVarint
+     * @param in the stream to read from
+     * @return the number read as an int
+     * @throws EOFException if the stream ends in the middle of the number
+     */
+    public static int readVarint(InputStream in) throws IOException {
+        int value = 0;
+        for(int shift = 0; shift < 32; shift += 7){
+            int b = in.read();
+            if(b < 0){
+                throw new EOFException();
+            }
+            value |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0){
+                return value;
+            }
+        }
+        throw new IOException("varint is too long");
+    }
+
+    /**
+     * writes a number as 8 bytes, biggest first
+     */
+    public static void writeLong(OutputStream out, long value) throws IOException {
+        for(int shift = 56; shift >= 0; shift -= 8){
+            out.write((int) (value >>> shift) & 0xFF);
+        }
+    }
+
+    /**
+     * reads a number written by writeLong
+     * @throws EOFException if the stream ends in the middle of the number
+     */
+    public static long readLong(InputStream in) throws IOException {
+        long value = 0;
+        for(int i = 0; i < 8; i++){
+            int b = in.read();
+            if(b < 0){
+                throw new EOFException();
+            }
+            value = (value << 8) | b;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,117 @@
+package com.mygdx.game.replay;
+
+import com.mygdx.game.sim.CollisionMasks;
+import com.mygdx.game.sim.Simulation;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * plays the runs of a replay file back through a Simulation with no window, as fast as the cpu
+ * allows, and checks that every run dies on the same tick with the same score it was recorded with
+ */
+public class ReplayPlayer {
+
+    private final CollisionMasks masks;
+    private int runs;
+    private int mismatches;
+    private long ticks;
+
+    /**
+     * constructor method
+     * @param masks the collision masks the game was played with, null if it collided on boxes
+     */
+    public ReplayPlayer(CollisionMasks masks) {
+        this.masks = masks;
+    }
+
+    /**
+     * plays every finished run in the file
+     * @param in the replay file, should be buffered
+     * @return boolean true if every run matched its recording
+     */
+    public boolean verify(InputStream in) throws IOException {
+        if(ReplayFormat.readLong(in) != ReplayFormat.MAGIC){
+            throw new IOException("not a replay file");
+        }
+        int version = ReplayFormat.readVarint(in);
+        if(version != ReplayFormat.VERSION){
+            throw new IOException("unknown replay version " + version);
+        }
+
+        while(true){
+            long seed;
+            try {
+                seed = ReplayFormat.readLong(in);
+            } catch (EOFException e) {
+                break; // no more runs
+            }
+
+            try {
+                playRun(in, seed);
+            } catch (EOFException e) {
+                break; // the last run was never finished
+            }
+        }
+        return mismatches == 0;
+    }
+
+    /**
+     * plays one run, applying every jump before the tick it was recorded on
+     */
+    private void playRun(InputStream in, long seed) throws IOException {
+        Simulation sim = new Simulation(seed, masks);
+        int code = ReplayFormat.readVarint(in);
+        int nextJump = 0;
+
+        while(code != ReplayFormat.END_OF_RUN){
+            nextJump += code - 1;
+
+            // step up to the tick before the jump, then jump (more jumps may share the tick)
+            while(sim.getTick() + 1 < nextJump && sim.step()){
+            }
+            sim.jump();
+            code = ReplayFormat.readVarint(in);
+        }
+
+        // no more jumps, fall until the end
+        while(sim.step()){
+        }
+        ticks += sim.getTick();
+
+        int deathTick = ReplayFormat.readVarint(in);
+        int score = ReplayFormat.readVarint(in);
+        runs++;
+        if(sim.getTick() != deathTick || sim.getScore() != score){
+            mismatches++;
+            System.out.println("Replay run " + runs + " (seed " + seed + ") recorded death at tick " + deathTick
+                    + " with score " + score + " but played back to tick " + sim.getTick()
+                    + " with score " + sim.getScore());
+        }
+    }
+
+    /**
+     * gets how many finished runs were played
+     * @return the number of runs as an int
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * gets how many runs did not end like they were recorded
+     * @return the number of mismatched runs as an int
+     */
+    public int getMismatches() {
+        return mismatches;
+    }
+
+    /**
+     * gets how many ticks were simulated while playing
+     * @return the number of ticks as a long
+     */
+    public long getTicks() {
+        return ticks;
+    }
+}
@@ -0,0 +1,105 @@
+package com.mygdx.game.replay;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * writes every run of a session (seed, jumps and how it ended) to a replay file
+ *
+ * a jump only costs a byte or two written into the stream's buffer, and nothing is allocated,
+ * so recording can stay on all the time. if writing ever fails the recorder turns itself off
+ * instead of stopping the game
+ */
+public class ReplayRecorder {
+
+    private OutputStream out; // should be buffered, null once closed or broken
+    private int lastJumpTick;
+    private boolean inRun;
+
+    /**
+     * starts a new replay file
+     * @param out the stream to write to, should be buffered
+     */
+    public ReplayRecorder(OutputStream out) {
+        this.out = out;
+        try {
+            ReplayFormat.writeLong(out, ReplayFormat.MAGIC);
+            ReplayFormat.writeVarint(out, ReplayFormat.VERSION);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * starts recording a new run
+     * @param seed the seed of the run as a long
+     */
+    public void startRun(long seed) {
+        if(out == null){
+            return;
+        }
+        try {
+            ReplayFormat.writeLong(out, seed);
+            lastJumpTick = 0;
+            inRun = true;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * records a jump
+     * @param tick the tick the jump is applied on (the tick the simulation is about to step)
+     */
+    public void jump(int tick) {
+        if(out == null || !inRun){
+            return;
+        }
+        try {
+            ReplayFormat.writeVarint(out, tick - lastJumpTick + 1);
+            lastJumpTick = tick;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * finishes the run and flushes it to the file
+     * @param deathTick the tick the bird died on as an int
+     * @param score the score of the run as an int
+     */
+    public void endRun(int deathTick, int score) {
+        if(out == null || !inRun){
+            return;
+        }
+        try {
+            ReplayFormat.writeVarint(out, ReplayFormat.END_OF_RUN);
+            ReplayFormat.writeVarint(out, deathTick);
+            ReplayFormat.writeVarint(out, score);
+            out.flush();
+            inRun = false;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * closes the file, a run that was not ended is left unfinished
+     */
+    public void close() {
+        if(out == null){
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            fail(e);
+        }
+        out = null;
+    }
+
+    private void fail(IOException e) {
+        System.out.println("Replay recording stopped: " + e.getMessage());
+        out = null;
+    }
+}
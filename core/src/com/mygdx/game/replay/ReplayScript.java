@@ -0,0 +1,136 @@
+package com.mygdx.game.replay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * the finished runs of a replay file played again as input: the play state takes its seeds and
+ * jumps from here instead of from the player, so every build plays the very same runs (for the
+ * desktop benchmark). once the last run is played it starts over at the first
+ *
+ * the jumps are kept as they are in the file (varints) and read one at a time, nothing is
+ * allocated while playing
+ */
+public class ReplayScript {
+
+    private static final int NO_JUMP = Integer.MAX_VALUE;
+
+    private final long[] seeds;
+    private final int[] start; // where the jumps of each run start in jumps
+    private final byte[] jumps; // (ticks since the last jump + 1) as varints, every run ending in a 0
+    private int run = -1;
+    private int cursor;
+    private int nextJump = NO_JUMP;
+
+    private ReplayScript(long[] seeds, int[] start, byte[] jumps) {
+        this.seeds = seeds;
+        this.start = start;
+        this.jumps = jumps;
+    }
+
+    /**
+     * reads the finished runs of a replay file
+     * @param in the replay file, should be buffered
+     * @return the ReplayScript of the runs
+     * @throws IOException if it is not a replay file of this version or has no finished runs
+     */
+    public static ReplayScript load(InputStream in) throws IOException {
+        if(ReplayFormat.readLong(in) != ReplayFormat.MAGIC){
+            throw new IOException("not a replay file");
+        }
+        int version = ReplayFormat.readVarint(in);
+        if(version != ReplayFormat.VERSION){
+            throw new IOException("unknown replay version " + version);
+        }
+
+        ByteArrayOutputStream jumps = new ByteArrayOutputStream();
+        long[] seeds = new long[16];
+        int[] start = new int[16];
+        int runs = 0;
+        while(true){
+            int runStart = jumps.size();
+            try {
+                long seed = ReplayFormat.readLong(in);
+                int code = ReplayFormat.readVarint(in);
+                while(code != ReplayFormat.END_OF_RUN){
+                    ReplayFormat.writeVarint(jumps, code);
+                    code = ReplayFormat.readVarint(in);
+                }
+                ReplayFormat.writeVarint(jumps, ReplayFormat.END_OF_RUN);
+                ReplayFormat.readVarint(in); // the death tick and score, the run ends by itself
+                ReplayFormat.readVarint(in);
+                if(runs == seeds.length){
+                    seeds = Arrays.copyOf(seeds, runs * 2);
+                    start = Arrays.copyOf(start, runs * 2);
+                }
+                seeds[runs] = seed;
+                start[runs] = runStart;
+                runs++;
+            } catch (EOFException e) {
+                break; // no more runs, or the last one was never finished
+            }
+        }
+        if(runs == 0){
+            throw new IOException("no finished runs");
+        }
+        return new ReplayScript(Arrays.copyOf(seeds, runs), Arrays.copyOf(start, runs), jumps.toByteArray());
+    }
+
+    /**
+     * moves on to the next run, the first one on the first call
+     * @return the seed to start the run with as a long
+     */
+    public long nextRun() {
+        run = (run + 1) % seeds.length;
+        cursor = start[run];
+        nextJump = 0;
+        readJump();
+        return seeds[run];
+    }
+
+    /**
+     * takes the next jump of the run if it is due
+     * @param tick the tick the jump would be run on as an int (the tick after the current one)
+     * @return boolean true if the bird jumps, call again for more jumps on the same tick
+     */
+    public boolean jumpsOn(int tick) {
+        if(nextJump > tick){
+            return false;
+        }
+        readJump();
+        return true;
+    }
+
+    /**
+     * reads the tick of the next jump of the run from its varints
+     */
+    private void readJump() {
+        int at = cursor;
+        int code = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = jumps[at++];
+            code |= (b & 0x7F) << shift;
+            shift += 7;
+        } while((b & 0x80) != 0);
+
+        if(code == 0){
+            nextJump = NO_JUMP; // the end of the run, stay on the 0
+            return;
+        }
+        cursor = at;
+        nextJump += code - 1;
+    }
+
+    /**
+     * gets how many runs the script plays before it starts over
+     * @return the number of runs as an int
+     */
+    public int getRuns() {
+        return seeds.length;
+    }
+}
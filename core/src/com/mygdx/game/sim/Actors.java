@@ -0,0 +1,371 @@
+package com.mygdx.game.sim;
+
+import java.util.Arrays;
+
+/**
+ * every bird, tube and anything else that moves in a Simulation, kept as components in plain
+ * arrays (one entry per actor) instead of one object per actor
+ *
+ * an actor is only an id: an index into the arrays with a bit for every component it has. the
+ * systems (GravitySystem, MovementSystem, AnimationSystem, RecycleSystem, CollisionSystem) each
+ * run one tight loop over the actors they work on and only touch the ones with the components they need,
+ * so adding a kind of actor is a new mix of bits and not a new class with its own loop in the
+ * simulation
+ *
+ * ids of removed actors are handed out again and the arrays only grow (doubling) when there are
+ * more live actors than ever before, so once a run has had its most actors, making and removing
+ * them allocates nothing. the live actors are kept packed at the front of a list in the order they
+ * were made, removing one moves the last one into its place. the ones with MOTION are kept in a
+ * list of their own the same way, so the systems that only move things never look at the
+ * obstacles (those are found through an ObstacleGrid)
+ */
+public class Actors {
+
+    // components
+    public static final int BODY = 1; // a position, and where it was on the tick before
+    public static final int MOTION = 1 << 1; // moves by its velocity every tick
+    public static final int GRAVITY = 1 << 2; // pulled down every tick, and stops on the bottom of the world
+    public static final int ANIMATION = 1 << 3; // steps through its frames
+    public static final int OBSTACLE = 1 << 4; // a pair of tubes from the layout, kills what it touches
+    public static final int SCORE = 1 << 5; // counts once the bird has passed it
+    public static final int SPRITE = 1 << 6; // drawn
+
+    // what a sprite is drawn as
+    public static final int SPRITE_BIRD = 0;
+    public static final int SPRITE_TUBE = 1;
+
+    private static final int NONE = -1;
+
+    // the components, read and written by the systems of the package
+    int[] components;
+    float[] x, y;
+    float[] previousX, previousY;
+    float[] velocityX, velocityY;
+    int[] gravity; // added to velocityY every tick (twice in the air)
+    int[] frame;
+    int[] frames; // how many frames the animation has
+    float[] frameLength; // how long a frame stays in view
+    float[] frameTime; // how long the frame has been shown
+    float[] middleY; // an obstacle moves up and down around it, y is the bottom edge of its top tube
+    int[] gap;
+    int[] amplitude;
+    float[] phase;
+    float[] period;
+    boolean[] scored;
+    int[] sprite;
+
+    // live actors packed at the front in the order they were made, and where each id is in it
+    int[] live;
+    private int[] position;
+    int count;
+    // the same for the live actors with MOTION
+    int[] movers;
+    private int[] moverPosition;
+    int moverCount;
+    private int[] free; // ids to hand out again
+    private int freeCount;
+    private int made; // ids ever handed out
+
+    /**
+     * makes room for some actors, more are made room for when needed
+     * @param capacity how many actors to make room for as an int
+     */
+    public Actors(int capacity) {
+        capacity = Math.max(capacity, 1);
+        components = new int[capacity];
+        x = new float[capacity];
+        y = new float[capacity];
+        previousX = new float[capacity];
+        previousY = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        gravity = new int[capacity];
+        frame = new int[capacity];
+        frames = new int[capacity];
+        frameLength = new float[capacity];
+        frameTime = new float[capacity];
+        middleY = new float[capacity];
+        gap = new int[capacity];
+        amplitude = new int[capacity];
+        phase = new float[capacity];
+        period = new float[capacity];
+        scored = new boolean[capacity];
+        sprite = new int[capacity];
+        live = new int[capacity];
+        position = new int[capacity];
+        movers = new int[capacity];
+        moverPosition = new int[capacity];
+        free = new int[capacity];
+    }
+
+    /**
+     * makes an actor at 0, 0 with nothing moving, reusing the id of a removed one if there is one
+     * @param components the bits of the components it has
+     * @return the id of the actor as an int
+     */
+    public int create(int components) {
+        int id;
+        if(freeCount > 0){
+            id = free[--freeCount];
+        } else {
+            if(made == this.components.length){
+                grow();
+            }
+            id = made++;
+        }
+        clear(id);
+        this.components[id] = components;
+        position[id] = count;
+        live[count++] = id;
+        if((components & MOTION) != 0){
+            moverPosition[id] = moverCount;
+            movers[moverCount++] = id;
+        }
+        return id;
+    }
+
+    /**
+     * removes an actor, its id can be handed out again by create
+     * @param id the id of the actor as an int
+     */
+    public void remove(int id) {
+        if(position[id] == NONE){
+            return; // already removed
+        }
+        int at = position[id];
+        int last = live[--count];
+        live[at] = last;
+        position[last] = at;
+        position[id] = NONE;
+        if((components[id] & MOTION) != 0){
+            int lastMover = movers[--moverCount];
+            movers[moverPosition[id]] = lastMover;
+            moverPosition[lastMover] = moverPosition[id];
+        }
+        components[id] = 0;
+        free[freeCount++] = id;
+    }
+
+    /**
+     * removes every actor, the ids start from 0 again
+     */
+    public void clear() {
+        for(int i = 0; i < count; i++){
+            components[live[i]] = 0;
+            position[live[i]] = NONE;
+        }
+        count = 0;
+        moverCount = 0;
+        freeCount = 0;
+        made = 0;
+    }
+
+    /**
+     * puts an actor somewhere, where it was on the tick before too
+     * @param id the id of the actor as an int
+     * @param x as a float
+     * @param y as a float
+     */
+    public void place(int id, float x, float y) {
+        this.x[id] = x;
+        this.y[id] = y;
+        previousX[id] = x;
+        previousY[id] = y;
+    }
+
+    /**
+     * gives an actor the physics of a bird: gravity and a jump, moving forward at a speed
+     * @param id the id of the actor as an int
+     * @param speed how fast it moves forward as a float
+     * @param gravity what is added to its upwards speed every tick as an int
+     */
+    public void setMotion(int id, float speed, int gravity) {
+        velocityX[id] = speed;
+        velocityY[id] = 0;
+        this.gravity[id] = gravity;
+    }
+
+    /**
+     * starts an animation at its first frame
+     * @param id the id of the actor as an int
+     * @param frames how many frames it has as an int
+     * @param frameLength how long a frame stays in view in seconds as a float
+     */
+    public void setAnimation(int id, int frames, float frameLength) {
+        frame[id] = 0;
+        frameTime[id] = 0;
+        this.frames[id] = frames;
+        this.frameLength[id] = frameLength;
+    }
+
+    /**
+     * moves an obstacle to a tube of the layout, where it is at a time of the run
+     * @param id the id of the actor as an int
+     * @param chunk the ObstacleChunk the tube is in
+     * @param tube which tube of the chunk, 0 to ObstacleGenerator.CHUNK_TUBES - 1
+     * @param time how long the run has gone for in seconds as a float
+     */
+    public void placeObstacle(int id, ObstacleChunk chunk, int tube, float time) {
+        x[id] = chunk.x[tube];
+        middleY[id] = chunk.top[tube];
+        gap[id] = chunk.gap[tube];
+        amplitude[id] = chunk.amplitude[tube];
+        phase[id] = chunk.phase[tube];
+        period[id] = chunk.period;
+        y[id] = TubeBody.topAt(middleY[id], amplitude[id], phase[id], period[id], time);
+        previousX[id] = x[id];
+        previousY[id] = y[id];
+        scored[id] = false;
+    }
+
+    /**
+     * sets what an actor is drawn as
+     * @param id the id of the actor as an int
+     * @param sprite SPRITE_BIRD or SPRITE_TUBE
+     */
+    public void setSprite(int id, int sprite) {
+        this.sprite[id] = sprite;
+    }
+
+    /**
+     * gets whether an actor has every one of some components
+     * @param id the id of the actor as an int
+     * @param components the bits of the components
+     * @return boolean true if it has them all
+     */
+    public boolean has(int id, int components) {
+        return (this.components[id] & components) == components;
+    }
+
+    /**
+     * gets how many actors there are
+     * @return the number of live actors as an int
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * gets a live actor, in the order they were made (until one is removed)
+     * @param index from 0 to getCount() - 1 as an int
+     * @return the id of the actor as an int
+     */
+    public int get(int index) {
+        return live[index];
+    }
+
+    public float getX(int id) {
+        return x[id];
+    }
+
+    public float getY(int id) {
+        return y[id];
+    }
+
+    public float getPreviousX(int id) {
+        return previousX[id];
+    }
+
+    public float getPreviousY(int id) {
+        return previousY[id];
+    }
+
+    public float getVelocityY(int id) {
+        return velocityY[id];
+    }
+
+    /**
+     * gets how fast an actor moves forward
+     * @param id the id of the actor as an int
+     * @return the speed as a float
+     */
+    public float getSpeed(int id) {
+        return velocityX[id];
+    }
+
+    public int getFrame(int id) {
+        return frame[id];
+    }
+
+    public int getSprite(int id) {
+        return sprite[id];
+    }
+
+    public int getGap(int id) {
+        return gap[id];
+    }
+
+    /**
+     * gets where the bottom tube of an obstacle starts, always gap below the top tube
+     * @param id the id of the actor as an int
+     * @return the y position of the bottom tube as a float
+     */
+    public float getBottomY(int id) {
+        return y[id] - gap[id] - TubeBody.HEIGHT;
+    }
+
+    /**
+     * where an obstacle is at a time of the run, also ahead of the time it is at now
+     * @param id the id of the actor as an int
+     * @param time how long the run has gone for in seconds as a float
+     * @return the bottom edge of the top tube as a float
+     */
+    public float topAt(int id, float time) {
+        return TubeBody.topAt(middleY[id], amplitude[id], phase[id], period[id], time);
+    }
+
+    /**
+     * puts an actor's components back to nothing before its id is used again
+     */
+    private void clear(int id) {
+        x[id] = 0;
+        y[id] = 0;
+        previousX[id] = 0;
+        previousY[id] = 0;
+        velocityX[id] = 0;
+        velocityY[id] = 0;
+        gravity[id] = 0;
+        frame[id] = 0;
+        frames[id] = 1;
+        frameLength[id] = 1;
+        frameTime[id] = 0;
+        middleY[id] = 0;
+        gap[id] = 0;
+        amplitude[id] = 0;
+        phase[id] = 0;
+        period[id] = 1;
+        scored[id] = false;
+        sprite[id] = 0;
+    }
+
+    /**
+     * doubles every array
+     */
+    private void grow() {
+        int capacity = components.length * 2;
+        components = Arrays.copyOf(components, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        gravity = Arrays.copyOf(gravity, capacity);
+        frame = Arrays.copyOf(frame, capacity);
+        frames = Arrays.copyOf(frames, capacity);
+        frameLength = Arrays.copyOf(frameLength, capacity);
+        frameTime = Arrays.copyOf(frameTime, capacity);
+        middleY = Arrays.copyOf(middleY, capacity);
+        gap = Arrays.copyOf(gap, capacity);
+        amplitude = Arrays.copyOf(amplitude, capacity);
+        phase = Arrays.copyOf(phase, capacity);
+        period = Arrays.copyOf(period, capacity);
+        scored = Arrays.copyOf(scored, capacity);
+        sprite = Arrays.copyOf(sprite, capacity);
+        live = Arrays.copyOf(live, capacity);
+        position = Arrays.copyOf(position, capacity);
+        movers = Arrays.copyOf(movers, capacity);
+        moverPosition = Arrays.copyOf(moverPosition, capacity);
+        free = Arrays.copyOf(free, capacity);
+    }
+}
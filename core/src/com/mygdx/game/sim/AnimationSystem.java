@@ -0,0 +1,41 @@
+package com.mygdx.game.sim;
+
+/**
+ * moves every animation along one tick, exactly like sprites.Animation did: the next frame once
+ * the frame has been in view for longer than its length, back to the first after the last
+ *
+ * the frame is part of the simulation since every frame of the bird collides on its own pixels.
+ * only actors with MOTION are animated, what stays put changes with the time of the run instead
+ * (like the tubes, see TubeBody.topAt)
+ */
+public final class AnimationSystem {
+
+    private AnimationSystem() {
+    }
+
+    /**
+     * steps every actor with ANIMATION and MOTION
+     * @param actors the Actors of the world
+     * @param dt the length of a tick in seconds as a float
+     */
+    public static void step(Actors actors, float dt) {
+        int[] movers = actors.movers;
+        int[] components = actors.components;
+        int[] frame = actors.frame;
+        float[] frameTime = actors.frameTime;
+        for(int i = 0; i < actors.moverCount; i++){
+            int a = movers[i];
+            if((components[a] & Actors.ANIMATION) == 0){
+                continue;
+            }
+            frameTime[a] += dt;
+            if(frameTime[a] > actors.frameLength[a]){
+                frame[a]++;
+                frameTime[a] = 0;
+            }
+            if(frame[a] >= actors.frames[a]){
+                frame[a] = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.mygdx.game.sim;
+
+/**
+ * a bot that flies the bird, for the attract mode on the menu and for letting builds play all
+ * night without anyone tapping
+ *
+ * everything is worked out once up front into a table over (ticks until the next tube, height
+ * above the bottom of its opening, upwards speed). the table is filled from the tube backwards:
+ * a state is safe if the bird is inside the opening while it overlaps the tube and one of the two
+ * choices (jump or not) leads to a safe state on the next tick. the bit of a state says to jump
+ * when only jumping stays safe, or when both do and the bird is about to drop below where it
+ * waits for the opening. deciding is then a few array lookups
+ *
+ * speeds only change by a fixed amount every tick (gravity is added twice while in the air) so
+ * they are kept exactly as the number of ticks since the last jump. ticks until the tube are
+ * counted at the slowest speed, which makes the bird think it is in the tube for longer than it
+ * is once the run speeds up. the table is made for the smallest opening of the run with a margin,
+ * bigger openings are lined up with it at their middle. a moving tube is aimed at where it will
+ * be when the bird gets there, and again on every tick while the bird is in it
+ *
+ * the table is only read after it is made, so one autopilot can fly any number of birds on any
+ * number of threads
+ */
+public class Autopilot {
+
+    public static final int MARGIN = 11; // distance kept from the edges of the opening
+    public static final int WAIT_HEIGHT = 14; // how far above the bottom of the opening the bird waits
+
+    // ticks until the bird reaches the tube, the first ones count as far away and the last as passed
+    private static final int NEAREST = -(int) Math.ceil((float) TubeBody.WIDTH / (BirdBody.MOVEMENT * Simulation.STEP)) - 1;
+    private static final int FURTHEST = 110;
+    private static final int DISTANCES = FURTHEST - NEAREST + 1;
+    // heights of the bottom of the bird above the bottom of the opening, 1 apart
+    private static final int LOWEST = -150;
+    private static final int HEIGHTS = 501;
+    private static final int SPEEDS = 66; // ticks since the last jump, the slowest fall counts as the last
+
+    private final float fastest; // the speed right after a jump, index 0 of the speeds
+    private final float speedStep; // how much the speed goes down every tick
+    private final int gap; // the opening the table was made for
+    private final float groundTop;
+    private final long[] jump; // one bit per (distance, height, speed), set to jump
+
+    /**
+     * works out the table for a tuning, takes a few tens of milliseconds
+     * @param tuning gives the gravity, jump velocity and opening
+     * @param difficulty how small the openings get
+     */
+    public Autopilot(Tuning tuning, Difficulty difficulty) {
+        speedStep = -2 * tuning.getGravity();
+        fastest = tuning.getJumpVelocity() - speedStep;
+        gap = difficulty.smallestGap(tuning.getTubeGap());
+        groundTop = Simulation.GROUND_HEIGHT + Simulation.GROUND_Y_OFFSET;
+        jump = new long[(DISTANCES * HEIGHTS * SPEEDS + 63) >>> 6];
+        build();
+    }
+
+    /**
+     * decides if the bird of a simulation jumps this tick
+     * @param sim the Simulation being flown
+     * @return boolean true if it should jump, false when there is no tube ahead
+     */
+    public boolean shouldJump(Simulation sim) {
+        Actors actors = sim.getActors();
+        int bird = sim.getBird();
+        float birdX = actors.x[bird];
+        ObstacleGrid grid = sim.getGrid();
+        int found = grid.query(birdX - TubeBody.WIDTH, sim.getViewTo());
+        int next = -1;
+        for(int i = 0; i < found; i++){
+            int a = grid.found[i];
+            if((actors.components[a] & Actors.OBSTACLE) != 0 && actors.x[a] + TubeBody.WIDTH > birdX
+                    && (next == -1 || actors.x[a] < actors.x[next])){
+                next = a;
+            }
+        }
+        if(next == -1){
+            // the simulation keeps a tube in view ahead of the bird, without one there is nothing to aim at
+            return false;
+        }
+
+        float perTick = actors.velocityX[bird] * Simulation.STEP;
+        float ticks = (actors.x[next] - birdX) / perTick;
+        // aim at where the opening will be when the bird gets to the tube, or where it is while inside
+        float arrive = Math.max(ticks, 0) + sim.getTick();
+        float gapBottom = actors.topAt(next, arrive * Simulation.STEP) - actors.gap[next];
+        return shouldJump(actors.y[bird], actors.velocityY[bird], ticks, gapBottom, actors.gap[next]);
+    }
+
+    /**
+     * decides if a bird jumps this tick from numbers alone
+     * @param y the bottom of the bird as a float
+     * @param velocityY the upwards speed of the bird as a float
+     * @param ticks how many ticks until the bird's left edge reaches the tube's left edge as a float
+     * @param gapBottom top of the next bottom tube as a float
+     * @param gap the space between the top and bottom tube as an int
+     * @return boolean true if it should jump
+     */
+    public boolean shouldJump(float y, float velocityY, float ticks, float gapBottom, int gap) {
+        if(velocityY < 0 && y + velocityY * Simulation.STEP * 2 <= groundTop){
+            return true; // about to hit the ground, whatever the table says
+        }
+
+        float height = y - gapBottom - (gap - this.gap) / 2f;
+        int d = ticks >= FURTHEST ? FURTHEST - NEAREST : (int) Math.floor(ticks) - NEAREST;
+        int h = Math.round(height) - LOWEST;
+        int s = Math.round((fastest - velocityY) / speedStep);
+        if(d < 0){
+            d = 0;
+        }
+        if(s < 0){
+            s = 0;
+        } else if(s >= SPEEDS){
+            s = SPEEDS - 1;
+        }
+        if(h < 0){
+            return true;
+        }
+        if(h >= HEIGHTS){
+            return false;
+        }
+        int bit = (d * HEIGHTS + h) * SPEEDS + s;
+        return (jump[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * fills the table one distance at a time, starting from just past the tube where every
+     * height in range is safe
+     */
+    private void build() {
+        boolean[] before = new boolean[HEIGHTS * SPEEDS]; // safe states one tick closer to passing
+        boolean[] now = new boolean[HEIGHTS * SPEEDS];
+        for(int i = 0; i < before.length; i++){
+            before[i] = true;
+        }
+
+        float dt = Simulation.STEP;
+        float perTick = BirdBody.MOVEMENT * dt;
+        int waitAt = MARGIN + WAIT_HEIGHT - LOWEST;
+        for(int d = 1; d < DISTANCES; d++){
+            int ticks = d + NEAREST;
+            // in the tube from when the bird's right edge passes its left edge to when its left edge passes its right
+            boolean inTube = ticks * perTick < BirdBody.WIDTH && ticks > NEAREST;
+            for(int h = 0; h < HEIGHTS; h++){
+                for(int s = 0; s < SPEEDS; s++){
+                    // not jumping: one tick more since the last jump
+                    int fall = Math.min(s + 1, SPEEDS - 1);
+                    int fallTo = h + Math.round((fastest - fall * speedStep) * dt);
+                    boolean fallSafe = isSafe(before, fallTo, fall);
+                    // jumping: back to the speed right after a jump
+                    int jumpTo = h + Math.round(fastest * dt);
+                    boolean jumpSafe = isSafe(before, jumpTo, 0);
+
+                    boolean safe;
+                    if(inTube){
+                        int height = h + LOWEST;
+                        safe = height >= MARGIN && height + BirdBody.HEIGHT <= gap - MARGIN && (fallSafe || jumpSafe);
+                    } else {
+                        safe = fallSafe || jumpSafe;
+                    }
+                    now[h * SPEEDS + s] = safe;
+
+                    boolean up;
+                    if(fallSafe && jumpSafe){
+                        up = fallTo < waitAt; // either is fine, keep waiting near the bottom of the opening
+                    } else if(fallSafe || jumpSafe){
+                        up = jumpSafe;
+                    } else {
+                        up = h < waitAt; // nothing is safe any more, try to get to the opening anyway
+                    }
+                    if(up){
+                        int bit = (d * HEIGHTS + h) * SPEEDS + s;
+                        jump[bit >>> 6] |= 1L << bit;
+                    }
+                }
+            }
+            boolean[] swap = before;
+            before = now;
+            now = swap;
+        }
+    }
+
+    private static boolean isSafe(boolean[] safe, int h, int s) {
+        return h >= 0 && h < HEIGHTS && safe[h * SPEEDS + s];
+    }
+
+    public int getGap() {
+        return gap;
+    }
+}
@@ -0,0 +1,19 @@
+package com.mygdx.game.sim;
+
+/**
+ * decides when each bird of a BatchSimulation jumps, called from many threads at once so it
+ * must only read shared data
+ */
+public interface BatchPolicy {
+
+    /**
+     * @param bird the index of the bird
+     * @param y the bottom of the bird as a float
+     * @param velocityY the upwards speed of the bird as a float
+     * @param dx distance from the bird to the next tube as a float
+     * @param gapBottom top of the next bottom tube as a float
+     * @param gapTop bottom of the next top tube as a float
+     * @return boolean true if the bird should jump this tick
+     */
+    boolean shouldJump(int bird, float y, float velocityY, float dx, float gapBottom, float gapTop);
+}
@@ -0,0 +1,334 @@
+package com.mygdx.game.sim;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * runs many birds at once through the same tubes to measure how hard a Tuning is
+ *
+ * the birds are kept as plain float arrays (one entry per bird) instead of actors, and every
+ * bird moves forward at the same speed so they all share one x position and one line of tubes.
+ * the layout is all made up front from the seed by an ObstacleGenerator, which makes the tubes
+ * read only, so the birds can be split into slices that run on every core with fork/join and
+ * never wait on each other
+ *
+ * with the default tuning and difficulty a bird in here dies on the same tick and with the same
+ * score as a Simulation with the same seed, masks and jumps
+ */
+public class BatchSimulation {
+
+    private static final int SLICE = 2048; // birds stepped by one fork/join task
+    private static final int TUBE_DISTANCE = ObstacleGenerator.TUBE_DISTANCE;
+
+    private final int birds;
+    private final Tuning tuning;
+    private final Difficulty difficulty;
+    private final BatchPolicy policy;
+    private final CollisionMasks masks; // null to collide on boxes only
+
+    private final float[] y;
+    private final float[] velocityY;
+    private final int[] deathTick; // tick the bird died on, 0 while it is alive
+    private final int[] score;
+
+    // the layout of every tube in order
+    private float[] tubeTop; // bottom edge of the top tube, the middle of its movement
+    private int[] tubeGap;
+    private int[] tubeAmplitude;
+    private float[] tubePhase;
+    private float period;
+    private int ticks;
+    private long birdTicks;
+
+    /**
+     * sets up every bird at the spawn point, colliding with the tubes on their boxes
+     * @param birds the number of birds as an int
+     * @param tuning the physics and difficulty numbers to use
+     * @param policy decides when each bird jumps
+     */
+    public BatchSimulation(int birds, Tuning tuning, BatchPolicy policy) {
+        this(birds, tuning, policy, null);
+    }
+
+    /**
+     * sets up every bird at the spawn point
+     * @param birds the number of birds as an int
+     * @param tuning the physics and difficulty numbers to use
+     * @param policy decides when each bird jumps
+     * @param masks the pixel masks the birds and tubes collide on, null to collide on their boxes
+     */
+    public BatchSimulation(int birds, Tuning tuning, BatchPolicy policy, CollisionMasks masks) {
+        this(birds, tuning, Difficulty.DEFAULT, policy, masks);
+    }
+
+    /**
+     * sets up every bird at the spawn point
+     * @param birds the number of birds as an int
+     * @param tuning the physics and difficulty numbers to use
+     * @param difficulty how the run gets harder further in
+     * @param policy decides when each bird jumps
+     * @param masks the pixel masks the birds and tubes collide on, null to collide on their boxes
+     */
+    public BatchSimulation(int birds, Tuning tuning, Difficulty difficulty, BatchPolicy policy, CollisionMasks masks) {
+        this.birds = birds;
+        this.masks = masks;
+        this.tuning = tuning;
+        this.difficulty = difficulty;
+        this.policy = policy;
+        y = new float[birds];
+        velocityY = new float[birds];
+        deathTick = new int[birds];
+        score = new int[birds];
+    }
+
+    /**
+     * flies every bird until it dies or maxTicks have passed
+     * @param seed the seed of the tube openings as a long
+     * @param maxTicks the longest a bird can live as an int
+     * @param pool the ForkJoinPool to spread the birds over
+     */
+    public void run(long seed, int maxTicks, ForkJoinPool pool) {
+        Arrays.fill(y, Simulation.START_Y);
+        Arrays.fill(velocityY, 0);
+        Arrays.fill(deathTick, 0);
+        Arrays.fill(score, 0);
+        ticks = maxTicks;
+
+        // every tube the birds could reach in maxTicks, the same layout a Simulation reads
+        float distance = Simulation.START_X + difficulty.getMaxSpeed() * Simulation.STEP * maxTicks;
+        int chunks = (int) (distance / ObstacleGenerator.CHUNK_WIDTH) + 2;
+        int tubeCount = chunks * ObstacleGenerator.CHUNK_TUBES;
+        tubeTop = new float[tubeCount];
+        tubeGap = new int[tubeCount];
+        tubeAmplitude = new int[tubeCount];
+        tubePhase = new float[tubeCount];
+        ObstacleGenerator generator = new ObstacleGenerator(tuning, difficulty);
+        ObstacleChunk chunk = new ObstacleChunk();
+        for(int c = 0; c < chunks; c++){
+            generator.generate(seed, c, chunk);
+            for(int i = 0; i < ObstacleGenerator.CHUNK_TUBES; i++){
+                int k = c * ObstacleGenerator.CHUNK_TUBES + i;
+                tubeTop[k] = chunk.top[i];
+                tubeGap[k] = chunk.gap[i];
+                tubeAmplitude[k] = chunk.amplitude[i];
+                tubePhase[k] = chunk.phase[i];
+            }
+            period = chunk.period;
+        }
+
+        SliceTask root = new SliceTask(this, 0, birds);
+        pool.invoke(root);
+        birdTicks = root.birdTicks;
+    }
+
+    /**
+     * steps the birds from start (inclusive) to end (exclusive) through every tick
+     * @return the number of ticks the birds were alive for added together
+     */
+    private long stepSlice(int start, int end) {
+        final float dt = Simulation.STEP;
+        final float gravity = tuning.getGravity();
+        final float jumpVelocity = tuning.getJumpVelocity();
+        final float groundTop = Simulation.GROUND_HEIGHT + Simulation.GROUND_Y_OFFSET;
+
+        long stepped = 0;
+        int alive = end - start;
+        float x = Simulation.START_X;
+        int frame = 0; // every bird shows the same animation frame, it only depends on time
+        float frameTime = 0;
+
+        for(int tick = 1; tick <= ticks && alive > 0; tick++){
+            // the next tube is the first one the bird has not flown past yet, before moving
+            int next = passed(x);
+            float dx = (next + 1) * TUBE_DISTANCE - x;
+            float nextTop = topAt(next, (tick - 1) * dt);
+            float nextGap = tubeGap[next];
+
+            // the speed Simulation.step gives the bird
+            float fromX = x;
+            float speed = difficulty.speedAt(x);
+            x += speed * dt;
+
+            // same as AnimationSystem.step
+            frameTime += dt;
+            if(frameTime > BirdBody.FRAME_TIME){
+                frame++;
+                frameTime = 0;
+            }
+            if(frame >= BirdBody.FRAMES){
+                frame = 0;
+            }
+
+            // the only tube the bird can touch during the tick (tubes are further apart than bird
+            // and tube are wide plus a tick of movement)
+            int k = (int) ((x + BirdBody.WIDTH) / TUBE_DISTANCE) - 1;
+            float tubeX = (k + 1) * TUBE_DISTANCE;
+            boolean inTube = k >= 0 && fromX < tubeX + TubeBody.WIDTH && x + BirdBody.WIDTH > tubeX;
+            float top = inTube ? topAt(k, tick * dt) : 0;
+            float moveY = inTube ? top - topAt(k, (tick - 1) * dt) : 0; // how far the tube moved this tick
+            float bot = inTube ? top - tubeGap[k] - TubeBody.HEIGHT : 0;
+            int passedNow = passed(x);
+
+            for(int i = start; i < end; i++){
+                if(deathTick[i] != 0){
+                    continue;
+                }
+
+                float fromY = y[i];
+                float by = fromY;
+                float vy = velocityY[i];
+                if(policy.shouldJump(i, by, vy, dx, nextTop - nextGap, nextTop)){
+                    vy = jumpVelocity;
+                }
+
+                vy = GravitySystem.pull(by, vy, gravity);
+                by = MovementSystem.fall(by, vy, dt);
+
+                y[i] = by;
+                velocityY[i] = vy;
+                stepped++;
+
+                // swept along the move of the tick, then the pixels, exactly like Simulation.step
+                boolean hitTube = false;
+                if(inTube){
+                    float startY = fromY + moveY;
+                    float hit = TubeBody.sweep(fromX, startY, x, by, BirdBody.WIDTH, BirdBody.HEIGHT, tubeX, top, bot);
+                    if(hit != Sweep.MISS && masks != null){
+                        hit = masks.hitsTube(frame, fromX, startY, x, by, hit, tubeX, top, bot);
+                    }
+                    hitTube = hit != Sweep.MISS;
+                }
+                if(hitTube || by <= groundTop){
+                    deathTick[i] = tick;
+                    score[i] = passedNow;
+                    alive--;
+                }
+            }
+        }
+
+        // birds that lived through every tick keep the score they reached
+        if(alive > 0){
+            int passedEnd = passed(x);
+            for(int i = start; i < end; i++){
+                if(deathTick[i] == 0){
+                    score[i] = passedEnd;
+                }
+            }
+        }
+        return stepped;
+    }
+
+    /**
+     * where tube k is at a time of the run, the same as MovementSystem.step
+     */
+    private float topAt(int k, float time) {
+        return TubeBody.topAt(tubeTop[k], tubeAmplitude[k], tubePhase[k], period, time);
+    }
+
+    /**
+     * how many tubes a bird at x has completely flown past
+     */
+    private static int passed(float x) {
+        int n = (int) Math.ceil((x - TubeBody.WIDTH) / TUBE_DISTANCE) - 1;
+        return n < 0 ? 0 : n;
+    }
+
+    /**
+     * gets how many birds lived through every tick of the last run
+     * @return the number of birds still alive as an int
+     */
+    public int getAliveCount() {
+        int alive = 0;
+        for(int i = 0; i < birds; i++){
+            if(deathTick[i] == 0){
+                alive++;
+            }
+        }
+        return alive;
+    }
+
+    /**
+     * gets how many birds were still alive after a tick of the last run
+     * @param tick the tick as an int
+     * @return the number of birds alive after the tick as an int
+     */
+    public int getAliveAt(int tick) {
+        int alive = 0;
+        for(int i = 0; i < birds; i++){
+            if(deathTick[i] == 0 || deathTick[i] > tick){
+                alive++;
+            }
+        }
+        return alive;
+    }
+
+    /**
+     * gets the score every bird had when it died (or when the run ended)
+     * @return a copy of the scores sorted from lowest to highest
+     */
+    public int[] getSortedScores() {
+        int[] sorted = Arrays.copyOf(score, birds);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * gets the tick every bird died on, 0 for birds that lived through the run
+     * @return the death ticks, indexed by bird, not to be changed
+     */
+    public int[] getDeathTicks() {
+        return deathTick;
+    }
+
+    /**
+     * gets the score of every bird, indexed by bird
+     * @return the scores, not to be changed
+     */
+    public int[] getScores() {
+        return score;
+    }
+
+    /**
+     * gets the ticks the birds were alive for in the last run added together
+     * @return the number of bird ticks as a long
+     */
+    public long getBirdTicks() {
+        return birdTicks;
+    }
+
+    public int getBirds() {
+        return birds;
+    }
+
+    /**
+     * splits the birds in half until a slice is small enough to step directly
+     */
+    private static class SliceTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient BatchSimulation batch; // tasks are never serialized
+        private final int start, end;
+        private long birdTicks;
+
+        SliceTask(BatchSimulation batch, int start, int end) {
+            this.batch = batch;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if(end - start <= SLICE){
+                birdTicks = batch.stepSlice(start, end);
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+            SliceTask left = new SliceTask(batch, start, middle);
+            SliceTask right = new SliceTask(batch, middle, end);
+            invokeAll(left, right);
+            birdTicks = left.birdTicks + right.birdTicks;
+        }
+    }
+}
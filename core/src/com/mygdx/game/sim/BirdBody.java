@@ -0,0 +1,25 @@
+package com.mygdx.game.sim;
+
+/**
+ * the sizes and speeds of the bird, with no textures or sounds
+ *
+ * the simulation keeps its bird as an actor (see Actors) and moves it with the systems:
+ * GravitySystem, MovementSystem and AnimationSystem
+ */
+public final class BirdBody {
+
+    public static final int GRAVITY = -15;
+    public static final int MOVEMENT = 100; // speed at which the screen moves at the start of a run
+    public static final int JUMP_VELOCITY = 500; // upwards speed right after a jump
+
+    // size of one frame of birdanimation.png, the hitbox of the bird
+    public static final int WIDTH = 34;
+    public static final int HEIGHT = 24;
+
+    // the flap animation, part of the physics since every frame has its own collision mask
+    public static final int FRAMES = 3;
+    public static final float FRAME_TIME = 0.5f / FRAMES; // how long a frame stays in view
+
+    private BirdBody() {
+    }
+}
@@ -0,0 +1,120 @@
+package com.mygdx.game.sim;
+
+/**
+ * which pixels of a sprite are solid, one bit per pixel packed 64 to a long
+ *
+ * rows go from the bottom of the sprite up (the same way y goes in the game) and bit i of word w
+ * in a row is column 64 * w + i. two masks are tested against each other a whole word (64 pixels)
+ * at a time, so a bird against a tube is one AND per row they share
+ */
+public class BitMask {
+
+    private final int width, height;
+    private final int words; // longs per row
+    private final long[] bits;
+
+    /**
+     * makes a mask from packed rows
+     * @param width the width in pixels as an int
+     * @param height the height in pixels as an int
+     * @param bits the rows, bottom first, (width + 63) / 64 longs each, columns past the width must be 0
+     */
+    public BitMask(int width, int height, long[] bits) {
+        this.width = width;
+        this.height = height;
+        this.words = wordsPerRow(width);
+        if(bits.length != words * height){
+            throw new IllegalArgumentException("a " + width + "x" + height + " mask needs " + words * height
+                    + " longs, not " + bits.length);
+        }
+        this.bits = bits;
+    }
+
+    /**
+     * how many longs one row of a mask takes
+     * @param width the width in pixels as an int
+     * @return the longs per row as an int
+     */
+    public static int wordsPerRow(int width) {
+        return (width + 63) >> 6;
+    }
+
+    /**
+     * checks one pixel
+     * @param x the column from the left as an int
+     * @param y the row from the bottom as an int
+     * @return boolean true if the pixel is solid
+     */
+    public boolean get(int x, int y) {
+        return (bits[y * words + (x >> 6)] >>> (x & 63) & 1) != 0;
+    }
+
+    /**
+     * checks if any solid pixel of one mask lands on a solid pixel of another
+     * @param a the first mask
+     * @param ax left of the first mask in the world as an int
+     * @param ay bottom of the first mask in the world as an int
+     * @param b the second mask
+     * @param bx left of the second mask in the world as an int
+     * @param by bottom of the second mask in the world as an int
+     * @return boolean true if they share a solid pixel
+     */
+    public static boolean overlaps(BitMask a, int ax, int ay, BitMask b, int bx, int by) {
+        // where b starts in the pixels of a, and the rows and columns they share
+        int dx = bx - ax;
+        int dy = by - ay;
+        int rowStart = Math.max(0, dy);
+        int rowEnd = Math.min(a.height, dy + b.height);
+        int colStart = Math.max(0, dx);
+        int colEnd = Math.min(a.width, dx + b.width);
+        if(rowStart >= rowEnd || colStart >= colEnd){
+            return false;
+        }
+
+        int firstWord = colStart >> 6;
+        int lastWord = (colEnd - 1) >> 6;
+        for(int row = rowStart; row < rowEnd; row++){
+            int aRow = row * a.words;
+            int bRow = (row - dy) * b.words;
+            for(int w = firstWord; w <= lastWord; w++){
+                if((a.bits[aRow + w] & b.columns(bRow, (w << 6) - dx)) != 0){
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * gets 64 columns of a row starting at any column, columns outside the mask are 0
+     * @param rowOffset index of the first long of the row
+     * @param column the first column, can be negative
+     * @return the 64 columns as a long, bit 0 is the first column
+     */
+    private long columns(int rowOffset, int column) {
+        int word = column >> 6; // rounds down for negative columns too
+        int shift = column & 63;
+        long low = word >= 0 && word < words ? bits[rowOffset + word] : 0;
+        if(shift == 0){
+            return low;
+        }
+        long high = word + 1 >= 0 && word + 1 < words ? bits[rowOffset + word + 1] : 0;
+        return (low >>> shift) | (high << (64 - shift));
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * gets the packed rows, for writing the mask to a file
+     * @return the rows, not to be changed
+     */
+    long[] getBits() {
+        return bits;
+    }
+}
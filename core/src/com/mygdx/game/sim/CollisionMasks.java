@@ -0,0 +1,140 @@
+package com.mygdx.game.sim;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * the pixel masks of every bird animation frame and of the two tubes, made from the images when
+ * the game is built (MaskBaker on desktop writes masks.bin) so nothing reads texture pixels while
+ * the game runs
+ *
+ * a Simulation given these only lets a tube kill the bird if their solid pixels meet, the swept
+ * boxes are only used to find out quickly which ticks need the pixels checked
+ */
+public class CollisionMasks {
+
+    public static final int MAGIC = 0x46424d4b; // "FBMK"
+
+    private final BitMask[] bird;
+    private final BitMask topTube, bottomTube;
+
+    /**
+     * constructor method
+     * @param bird the mask of every frame of the bird animation, in order
+     * @param topTube the mask of toptube.png
+     * @param bottomTube the mask of bottomtube.png
+     */
+    public CollisionMasks(BitMask[] bird, BitMask topTube, BitMask bottomTube) {
+        this.bird = bird;
+        this.topTube = topTube;
+        this.bottomTube = bottomTube;
+    }
+
+    /**
+     * reads the masks written by write
+     * @param in the stream to read from, it is not closed
+     * @return the CollisionMasks
+     */
+    public static CollisionMasks read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if(data.readInt() != MAGIC){
+            throw new IOException("not a mask file");
+        }
+        BitMask[] bird = new BitMask[data.readInt()];
+        for(int i = 0; i < bird.length; i++){
+            bird[i] = readMask(data);
+        }
+        BitMask topTube = readMask(data);
+        BitMask bottomTube = readMask(data);
+        return new CollisionMasks(bird, topTube, bottomTube);
+    }
+
+    /**
+     * writes every mask
+     * @param out the stream to write to, it is flushed but not closed
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(bird.length);
+        for(BitMask mask : bird){
+            writeMask(data, mask);
+        }
+        writeMask(data, topTube);
+        writeMask(data, bottomTube);
+        data.flush();
+    }
+
+    /**
+     * checks if the bird really touches a tube during a tick its box was found to hit, by testing
+     * the pixels about one pixel of movement apart from the time of impact to the end of the tick
+     * @param frame the bird animation frame as an int
+     * @param fromX left of the bird at the start of the tick as a float
+     * @param fromY bottom of the bird at the start of the tick as a float
+     * @param toX left of the bird at the end of the tick as a float
+     * @param toY bottom of the bird at the end of the tick as a float
+     * @param impact when the boxes first hit, 0 to 1, as a float
+     * @param tubeX left of the tube as a float
+     * @param topY bottom of the top tube as a float
+     * @param bottomY bottom of the bottom tube as a float
+     * @return the first time (0 to 1) the pixels meet as a float, Sweep.MISS if they never do
+     */
+    public float hitsTube(int frame, float fromX, float fromY, float toX, float toY, float impact,
+                          float tubeX, float topY, float bottomY) {
+        BitMask mask = bird[frame];
+        float dx = toX - fromX;
+        float dy = toY - fromY;
+        int samples = 1 + (int) Math.ceil(Math.max(Math.abs(dx), Math.abs(dy)) * (1 - impact));
+        int tx = (int) Math.floor(tubeX);
+        int topTy = (int) Math.floor(topY);
+        int bottomTy = (int) Math.floor(bottomY);
+
+        for(int i = 0; i < samples; i++){
+            float t = samples == 1 ? 1 : impact + (1 - impact) * i / (samples - 1);
+            int bx = (int) Math.floor(fromX + dx * t);
+            int by = (int) Math.floor(fromY + dy * t);
+            if(BitMask.overlaps(mask, bx, by, topTube, tx, topTy)
+                    || BitMask.overlaps(mask, bx, by, bottomTube, tx, bottomTy)){
+                return t;
+            }
+        }
+        return Sweep.MISS;
+    }
+
+    public BitMask getBird(int frame) {
+        return bird[frame];
+    }
+
+    public int getBirdFrames() {
+        return bird.length;
+    }
+
+    public BitMask getTopTube() {
+        return topTube;
+    }
+
+    public BitMask getBottomTube() {
+        return bottomTube;
+    }
+
+    private static BitMask readMask(DataInputStream data) throws IOException {
+        int width = data.readInt();
+        int height = data.readInt();
+        long[] bits = new long[BitMask.wordsPerRow(width) * height];
+        for(int i = 0; i < bits.length; i++){
+            bits[i] = data.readLong();
+        }
+        return new BitMask(width, height, bits);
+    }
+
+    private static void writeMask(DataOutputStream data, BitMask mask) throws IOException {
+        data.writeInt(mask.getWidth());
+        data.writeInt(mask.getHeight());
+        for(long word : mask.getBits()){
+            data.writeLong(word);
+        }
+    }
+}
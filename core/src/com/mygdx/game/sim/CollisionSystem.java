@@ -0,0 +1,103 @@
+package com.mygdx.game.sim;
+
+/**
+ * checks a bird against the obstacles along the whole move of a tick (see Sweep), then on their
+ * pixels when there are masks, and counts the obstacles it has flown past
+ *
+ * only the obstacles the ObstacleGrid has under the span the bird moved over are looked at (a
+ * pixel more either side, so rounding never leaves one out), so the cost does not grow with the
+ * obstacles further away
+ *
+ * a moving tube is swept against as if it stood still and the bird moved by the difference, like
+ * TubeBody.sweep
+ */
+public class CollisionSystem {
+
+    private final CollisionMasks masks; // null to collide on boxes only
+    private final ObstacleGrid grid;
+
+    /**
+     * constructor method
+     * @param masks the pixel masks the bird and tubes collide on, null to collide on their boxes
+     * @param grid the ObstacleGrid the obstacles are kept in
+     */
+    public CollisionSystem(CollisionMasks masks, ObstacleGrid grid) {
+        this.masks = masks;
+        this.grid = grid;
+    }
+
+    /**
+     * finds when in the last tick a bird first hit an obstacle
+     * @param actors the Actors of the world
+     * @param bird the id of the bird as an int
+     * @return the time of impact from 0 to 1 as a float, Sweep.MISS if it hit none
+     */
+    public float sweep(Actors actors, int bird) {
+        int[] components = actors.components;
+        float[] x = actors.x;
+        float[] y = actors.y;
+        float[] previousY = actors.previousY;
+        int[] gap = actors.gap;
+        int frame = actors.frame[bird];
+        float fromX = actors.previousX[bird];
+        float fromY = actors.previousY[bird];
+        float toX = x[bird];
+        float toY = y[bird];
+        float impact = Sweep.MISS;
+        int found = grid.query(Math.min(fromX, toX) - TubeBody.WIDTH - 1, Math.max(fromX, toX) + BirdBody.WIDTH + 1);
+        int[] ids = grid.found;
+        for(int i = 0; i < found; i++){
+            int a = ids[i];
+            if((components[a] & Actors.OBSTACLE) == 0){
+                continue;
+            }
+            float moveY = y[a] - previousY[a];
+            float bottomY = y[a] - gap[a] - TubeBody.HEIGHT;
+            float hit = TubeBody.sweep(fromX, fromY + moveY, toX, toY, BirdBody.WIDTH, BirdBody.HEIGHT, x[a], y[a], bottomY);
+            if(hit != Sweep.MISS && masks != null){
+                // the boxes hit, now check the pixels (from where the bird was next to the tube's
+                // new position, like the sweep)
+                hit = masks.hitsTube(frame, fromX, fromY + moveY, toX, toY, hit, x[a], y[a], bottomY);
+            }
+            if(hit != Sweep.MISS && (impact == Sweep.MISS || hit < impact)){
+                impact = hit;
+            }
+        }
+        return impact;
+    }
+
+    /**
+     * marks every obstacle with SCORE that a bird has flown past on this tick
+     * @param actors the Actors of the world
+     * @param bird the id of the bird as an int
+     * @return how many were passed as an int
+     */
+    public int score(Actors actors, int bird) {
+        int[] components = actors.components;
+        float[] x = actors.x;
+        boolean[] scored = actors.scored;
+        float birdX = x[bird];
+        int passed = 0;
+        // the ones whose right edge the bird went past on this tick
+        int found = grid.query(actors.previousX[bird] - TubeBody.WIDTH - 1, birdX - TubeBody.WIDTH + 1);
+        int[] ids = grid.found;
+        for(int i = 0; i < found; i++){
+            int a = ids[i];
+            if((components[a] & Actors.SCORE) != 0 && !scored[a] && birdX > x[a] + TubeBody.WIDTH){
+                scored[a] = true;
+                passed++;
+            }
+        }
+        return passed;
+    }
+
+    /**
+     * whether a bird is down on the ground
+     * @param actors the Actors of the world
+     * @param bird the id of the bird as an int
+     * @return boolean true if it hit the ground
+     */
+    public boolean onGround(Actors actors, int bird) {
+        return actors.y[bird] <= Simulation.GROUND_HEIGHT + Simulation.GROUND_Y_OFFSET;
+    }
+}
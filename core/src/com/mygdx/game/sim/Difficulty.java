@@ -0,0 +1,112 @@
+package com.mygdx.game.sim;
+
+/**
+ * how a run gets harder the further the bird flies: once it reaches rampStart tubes the openings
+ * shrink, the tubes start moving up and down, and the bird (and the screen with it) speeds up,
+ * a bit more with every tube until each reaches its limit
+ *
+ * everything here only depends on which tube it is or how far the bird is, never on the time or
+ * the frame rate, so a seed still always gives the same run
+ */
+public class Difficulty {
+
+    public static final Difficulty DEFAULT = new Difficulty(10, 1, 120, 1, 20, 3f, 1f, 150);
+    public static final Difficulty NONE = new Difficulty(0, 0, TubeBody.GAP, 0, 0, 2f, 0, BirdBody.MOVEMENT);
+
+    private final int rampStart;
+    private final int gapShrink;
+    private final int minGap;
+    private final int amplitudeGrowth;
+    private final int maxAmplitude;
+    private final float movePeriod;
+    private final float speedGain;
+    private final int maxSpeed;
+
+    /**
+     * constructor method that takes every ramp
+     * @param rampStart the tube the run starts getting harder at as an int
+     * @param gapShrink how much smaller each opening is than the one before as an int
+     * @param minGap the smallest an opening gets as an int
+     * @param amplitudeGrowth how much further each tube can move than the one before as an int
+     * @param maxAmplitude the furthest a tube moves up or down from its middle as an int
+     * @param movePeriod how long a moving tube takes to go up and back down in seconds as a float
+     * @param speedGain speed added to the bird for every tube flown past as a float
+     * @param maxSpeed the fastest the bird flies as an int
+     */
+    public Difficulty(int rampStart, int gapShrink, int minGap, int amplitudeGrowth, int maxAmplitude,
+                      float movePeriod, float speedGain, int maxSpeed) {
+        if(maxAmplitude * 2 >= TubeBody.FLUCTUATION){
+            throw new IllegalArgumentException("tubes can not move further than their openings fluctuate");
+        }
+        this.rampStart = rampStart;
+        this.gapShrink = gapShrink;
+        this.minGap = minGap;
+        this.amplitudeGrowth = amplitudeGrowth;
+        this.maxAmplitude = maxAmplitude;
+        this.movePeriod = movePeriod;
+        this.speedGain = speedGain;
+        this.maxSpeed = maxSpeed;
+    }
+
+    /**
+     * the size of the opening of a tube
+     * @param tube which tube of the run, the first is 0
+     * @param gap the opening before the ramp starts as an int
+     * @return the space between the top and bottom tube as an int
+     */
+    public int gap(long tube, int gap) {
+        if(tube < rampStart){
+            return gap;
+        }
+        long shrunk = gap - (tube - rampStart) * gapShrink;
+        return (int) Math.max(shrunk, Math.min(gap, minGap));
+    }
+
+    /**
+     * the smallest opening any tube of a run gets
+     * @param gap the opening before the ramp starts as an int
+     * @return the space between the top and bottom tube as an int
+     */
+    public int smallestGap(int gap) {
+        return gapShrink > 0 ? Math.min(gap, minGap) : gap;
+    }
+
+    /**
+     * how far a tube can move up and down from the middle of where it goes
+     * @param tube which tube of the run, the first is 0
+     * @return the largest amplitude the tube can have as an int, 0 for tubes that stand still
+     */
+    public int amplitude(long tube) {
+        if(tube < rampStart){
+            return 0;
+        }
+        return (int) Math.min(maxAmplitude, (tube - rampStart) * amplitudeGrowth);
+    }
+
+    /**
+     * how fast the bird flies at a point of the run
+     * @param x how far the bird is as a float
+     * @return the forward speed as a float
+     */
+    public float speedAt(float x) {
+        float over = x / (TubeBody.WIDTH + Simulation.TUBE_SPACING) - rampStart;
+        if(over <= 0){
+            return BirdBody.MOVEMENT;
+        }
+        return Math.min(maxSpeed, BirdBody.MOVEMENT + over * speedGain);
+    }
+
+    public float getMovePeriod() {
+        return movePeriod;
+    }
+
+    public int getMaxSpeed() {
+        return Math.max(maxSpeed, BirdBody.MOVEMENT);
+    }
+
+    @Override
+    public String toString() {
+        return "ramp start=" + rampStart + " gap shrink=" + gapShrink + " min gap=" + minGap
+                + " amplitude=" + amplitudeGrowth + "/" + maxAmplitude + " speed=" + speedGain + "/" + maxSpeed;
+    }
+}
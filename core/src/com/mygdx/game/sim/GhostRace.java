@@ -0,0 +1,212 @@
+package com.mygdx.game.sim;
+
+import java.util.Arrays;
+
+/**
+ * the birds of earlier runs flown again next to the player's bird, as ghosts to race against
+ *
+ * a ghost is only the jumps of its run, kept as the same varints as a replay file (about a byte a
+ * jump) one run after another in a single byte array, and the tick it died on. every ghost is
+ * stepped together in plain float arrays like BatchSimulation, with the exact physics of the bird,
+ * so it flies the same heights it flew when it was recorded. the forward speed only depends on how
+ * far a bird is, so every ghost still alive shares the player's x and the x is worked out once
+ *
+ * ghosts do not collide with anything, they flew their own run's tubes, and stop where they died
+ * so the player can fly past them. a tick costs a few floats per ghost and allocates nothing
+ */
+public class GhostRace {
+
+    public static final int NO_JUMP = Integer.MAX_VALUE; // next jump of a ghost that has no jumps left
+
+    private final int ghosts;
+    private final byte[] jumps; // (ticks since the last jump + 1) as varints, every run ending in a 0
+    private final int[] start; // where the jumps of each ghost start in jumps
+    private final int[] deathTick;
+    private final int[] score;
+    private final Difficulty difficulty;
+    private final float gravity;
+    private final float jumpVelocity;
+
+    private final float[] y;
+    private final float[] previousY;
+    private final float[] velocityY;
+    private final float[] deathX; // where a ghost stopped, once it has died
+    private final int[] cursor; // the next varint of each ghost in jumps
+    private final int[] nextJump; // the tick of the next jump of each ghost
+    private float x, previousX;
+    private int tick;
+    private int alive;
+
+    /**
+     * constructor method, the ghosts start at the spawn point
+     * @param jumps the jumps of every ghost as varints of (ticks since the last jump + 1), each ghost ending with a 0
+     * @param start where each ghost's jumps start in jumps, one entry per ghost
+     * @param deathTick the tick each ghost died on, one entry per ghost
+     * @param score the score each ghost died with, one entry per ghost
+     * @param tuning the physics the runs were played with
+     * @param difficulty the difficulty the runs were played with
+     */
+    public GhostRace(byte[] jumps, int[] start, int[] deathTick, int[] score, Tuning tuning, Difficulty difficulty) {
+        ghosts = start.length;
+        this.jumps = jumps;
+        this.start = start;
+        this.deathTick = deathTick;
+        this.score = score;
+        this.difficulty = difficulty;
+        gravity = tuning.getGravity();
+        jumpVelocity = tuning.getJumpVelocity();
+        y = new float[ghosts];
+        previousY = new float[ghosts];
+        velocityY = new float[ghosts];
+        deathX = new float[ghosts];
+        cursor = new int[ghosts];
+        nextJump = new int[ghosts];
+        reset();
+    }
+
+    /**
+     * puts every ghost back at the spawn point, for a new run of the player
+     */
+    public void reset() {
+        tick = 0;
+        x = Simulation.START_X;
+        previousX = x;
+        alive = 0;
+        Arrays.fill(y, Simulation.START_Y);
+        Arrays.fill(previousY, Simulation.START_Y);
+        Arrays.fill(velocityY, 0);
+        for(int i = 0; i < ghosts; i++){
+            cursor[i] = start[i];
+            nextJump[i] = 0;
+            readJump(i);
+            deathX[i] = x;
+            if(deathTick[i] > 0){
+                alive++;
+            }
+        }
+    }
+
+    /**
+     * steps forward (or starts over and steps forward) until the ghosts are at a tick
+     * @param tick the tick of the player's run as an int
+     */
+    public void advanceTo(int tick) {
+        if(tick < this.tick){
+            reset();
+        }
+        while(this.tick < tick){
+            step();
+        }
+    }
+
+    /**
+     * moves every ghost forward by one tick, the same as Simulation.step without the tubes
+     */
+    public void step() {
+        final float dt = Simulation.STEP;
+        tick++;
+        previousX = x;
+        x += difficulty.speedAt(x) * dt;
+
+        for(int i = 0; i < ghosts; i++){
+            float from = y[i];
+            previousY[i] = from;
+            if(tick > deathTick[i]){
+                continue;
+            }
+
+            float vy = velocityY[i];
+            while(nextJump[i] <= tick){
+                vy = jumpVelocity; // jumps sharing a tick are the same as one
+                readJump(i);
+            }
+
+            vy = GravitySystem.pull(from, vy, gravity);
+            y[i] = MovementSystem.fall(from, vy, dt);
+            velocityY[i] = vy;
+
+            if(tick == deathTick[i]){
+                deathX[i] = x;
+                alive--;
+            }
+        }
+    }
+
+    /**
+     * reads the tick of the next jump of a ghost from its varints
+     */
+    private void readJump(int ghost) {
+        int at = cursor[ghost];
+        int code = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = jumps[at++];
+            code |= (b & 0x7F) << shift;
+            shift += 7;
+        } while((b & 0x80) != 0);
+
+        if(code == 0){
+            nextJump[ghost] = NO_JUMP; // the end of the run, stay on the 0
+            return;
+        }
+        cursor[ghost] = at;
+        nextJump[ghost] = nextJump[ghost] + code - 1;
+    }
+
+    /**
+     * where a ghost is drawn between its last two ticks
+     * @param ghost the index of the ghost as an int
+     * @param alpha how far between the previous and current tick (0 to 1) as a float
+     * @return the left edge of the ghost as a float
+     */
+    public float getX(int ghost, float alpha) {
+        if(tick > deathTick[ghost]){
+            return deathX[ghost];
+        }
+        return previousX + (x - previousX) * alpha;
+    }
+
+    /**
+     * where a ghost is drawn between its last two ticks
+     * @param ghost the index of the ghost as an int
+     * @param alpha how far between the previous and current tick (0 to 1) as a float
+     * @return the bottom edge of the ghost as a float
+     */
+    public float getY(int ghost, float alpha) {
+        return previousY[ghost] + (y[ghost] - previousY[ghost]) * alpha;
+    }
+
+    /**
+     * gets if a ghost is still flying
+     * @param ghost the index of the ghost as an int
+     * @return boolean true until the tick it died on
+     */
+    public boolean isAlive(int ghost) {
+        return tick < deathTick[ghost];
+    }
+
+    public int getScore(int ghost) {
+        return score[ghost];
+    }
+
+    public int getDeathTick(int ghost) {
+        return deathTick[ghost];
+    }
+
+    /**
+     * gets how many ghosts have not died yet
+     * @return the number of ghosts still flying as an int
+     */
+    public int getAliveCount() {
+        return alive;
+    }
+
+    public int getGhosts() {
+        return ghosts;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+}
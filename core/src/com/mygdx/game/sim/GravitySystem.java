@@ -0,0 +1,48 @@
+package com.mygdx.game.sim;
+
+/**
+ * pulls down every actor with gravity: while it is in the air gravity is added to its upwards
+ * speed twice, on the ground only once so it stays there
+ *
+ * the birds that are kept as plain arrays (BatchSimulation, GhostRace) are pulled with pull, so
+ * they fly exactly like the simulation's bird
+ */
+public final class GravitySystem {
+
+    private GravitySystem() {
+    }
+
+    /**
+     * adds one tick of gravity to every actor with GRAVITY and MOTION
+     * @param actors the Actors of the world
+     */
+    public static void step(Actors actors) {
+        final int need = Actors.GRAVITY | Actors.MOTION;
+        int[] movers = actors.movers;
+        int[] components = actors.components;
+        float[] y = actors.y;
+        float[] velocityY = actors.velocityY;
+        int[] gravity = actors.gravity;
+        for(int i = 0; i < actors.moverCount; i++){
+            int a = movers[i];
+            if((components[a] & need) != need){
+                continue;
+            }
+            velocityY[a] = pull(y[a], velocityY[a], gravity[a]);
+        }
+    }
+
+    /**
+     * one tick of gravity on a bird
+     * @param y the bottom of the bird as a float
+     * @param velocityY its upwards speed as a float
+     * @param gravity what is added to its upwards speed every tick as a float
+     * @return the upwards speed after the tick as a float
+     */
+    public static float pull(float y, float velocityY, float gravity) {
+        if(y > 0){
+            velocityY += gravity;
+        }
+        return velocityY + gravity;
+    }
+}
@@ -0,0 +1,79 @@
+package com.mygdx.game.sim;
+
+/**
+ * moves actors forward one tick: an actor with MOTION by its velocity (an actor with GRAVITY
+ * stops on the bottom of the world, see fall), an OBSTACLE to where its tubes are at the
+ * time of the run (see TubeBody.topAt). where each was on the tick before is kept for sweeping and
+ * for drawing between ticks
+ *
+ * the obstacles are only moved near the camera, found through the ObstacleGrid. where one is only
+ * depends on the time, so one coming into view is simply moved to the time it is at
+ */
+public final class MovementSystem {
+
+    private MovementSystem() {
+    }
+
+    /**
+     * moves every actor with MOTION
+     * @param actors the Actors of the world
+     * @param dt the length of a tick in seconds as a float
+     */
+    public static void step(Actors actors, float dt) {
+        int[] movers = actors.movers;
+        int[] components = actors.components;
+        float[] x = actors.x;
+        float[] y = actors.y;
+        float[] previousX = actors.previousX;
+        float[] previousY = actors.previousY;
+        float[] velocityX = actors.velocityX;
+        float[] velocityY = actors.velocityY;
+        for(int i = 0; i < actors.moverCount; i++){
+            int a = movers[i];
+            previousX[a] = x[a];
+            previousY[a] = y[a];
+            x[a] += velocityX[a] * dt;
+            if((components[a] & Actors.GRAVITY) != 0){
+                y[a] = fall(y[a], velocityY[a], dt);
+            } else {
+                y[a] += velocityY[a] * dt;
+            }
+        }
+    }
+
+    /**
+     * moves a bird up or down by one tick, it stops on the bottom of the world. the birds that are
+     * kept as plain arrays (BatchSimulation, GhostRace) move with this too
+     * @param y the bottom of the bird as a float
+     * @param velocityY its upwards speed as a float
+     * @param dt the length of a tick in seconds as a float
+     * @return the bottom of the bird after the tick as a float
+     */
+    public static float fall(float y, float velocityY, float dt) {
+        y += velocityY * dt;
+        return y < 0 ? 0 : y;
+    }
+
+    /**
+     * moves every OBSTACLE of a grid with its left edge between two x positions
+     * @param actors the Actors of the world
+     * @param grid the ObstacleGrid the obstacles are in
+     * @param from the leftmost x as a float
+     * @param to the rightmost x as a float
+     * @param time how long the run has gone for in seconds as a float, after this tick
+     */
+    public static void step(Actors actors, ObstacleGrid grid, float from, float to, float time) {
+        int found = grid.query(from, to);
+        int[] ids = grid.found;
+        int[] components = actors.components;
+        float[] y = actors.y;
+        float[] previousY = actors.previousY;
+        for(int i = 0; i < found; i++){
+            int a = ids[i];
+            if((components[a] & Actors.OBSTACLE) != 0){
+                previousY[a] = y[a];
+                y[a] = TubeBody.topAt(actors.middleY[a], actors.amplitude[a], actors.phase[a], actors.period[a], time);
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.mygdx.game.sim;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * keeps the chunks of tubes just ahead of the camera ready in a ring, so the simulation only ever
+ * reads layouts and never works one out in the middle of a tick
+ *
+ * the ring holds the chunks the camera can see plus LOOKAHEAD more. the simulation reads a chunk
+ * with chunk(index) and lets go of it with release(index) once every tube in it is placed, which
+ * frees its slot for the chunk CAPACITY further on. the chunks are made either on a background
+ * thread (startBackground) or, without one, right after a release on the simulation's own thread
+ *
+ * the background thread is the only writer of the ring and the simulation the only reader, the
+ * two only share the index of the oldest chunk still in use and a stamp on every slot, so nothing
+ * is locked. every chunk only depends on the seed and its index (see ObstacleGenerator), so if the
+ * background thread is ever behind (right after a reset it has not made the first chunk of the
+ * new run yet), the simulation makes the chunk it needs itself into a spare chunk and the run
+ * does not change
+ */
+public class ObstacleBuffer {
+
+    public static final int LOOKAHEAD = 2; // chunks kept ready past the ones the camera can see
+    public static final int CAPACITY = (Simulation.VIEW_WIDTH + ObstacleGenerator.CHUNK_WIDTH - 1)
+            / ObstacleGenerator.CHUNK_WIDTH + LOOKAHEAD;
+
+    private final ObstacleChunk[] slots = new ObstacleChunk[CAPACITY];
+    private final ObstacleChunk spare = new ObstacleChunk(); // made by the reader when a slot is not ready
+    private final ObstacleGenerator writer; // only used by whoever fills the ring
+    private final ObstacleGenerator reader; // only used by the simulation for the spare chunk
+
+    // written by the simulation, the epoch last so the background thread sees the seed and head with it
+    private volatile long seed;
+    private volatile long head; // the oldest chunk not released yet
+    private volatile int epoch; // goes up every run so chunks of an old run are never handed out
+
+    private long next; // the next chunk to fill, only used by the filling thread
+    private int filledEpoch;
+
+    private Thread thread;
+    private volatile boolean running;
+    private int misses; // chunks the simulation had to make itself
+
+    /**
+     * sets up the ring and fills it with the first chunks of the run
+     * @param seed the seed of the run as a long
+     * @param tuning gives the size of the gap and how far the opening can move
+     * @param difficulty how the tubes get harder further into the run
+     */
+    public ObstacleBuffer(long seed, Tuning tuning, Difficulty difficulty) {
+        for(int i = 0; i < CAPACITY; i++){
+            slots[i] = new ObstacleChunk();
+        }
+        writer = new ObstacleGenerator(tuning, difficulty);
+        reader = new ObstacleGenerator(tuning, difficulty);
+        this.seed = seed;
+        fill();
+    }
+
+    /**
+     * starts over with the chunks of a new run, to be called from the simulation's thread
+     * @param seed the seed of the new run as a long
+     */
+    public void reset(long seed) {
+        this.seed = seed;
+        head = 0;
+        epoch++;
+        wake();
+    }
+
+    /**
+     * gets a chunk of the run, only the chunks from the oldest one not released yet up to CAPACITY
+     * past it can be read
+     * @param index which chunk of the run, the first is 0
+     * @return the ObstacleChunk, valid until it is released
+     */
+    public ObstacleChunk chunk(long index) {
+        long stamp = stamp(epoch, index);
+        ObstacleChunk slot = slots[(int) (index % CAPACITY)];
+        if(slot.stamp == stamp){
+            return slot;
+        }
+        if(spare.stamp != stamp){
+            reader.generate(seed, index, spare);
+            spare.stamp = stamp;
+            misses++;
+        }
+        return spare;
+    }
+
+    /**
+     * lets go of a chunk and every one before it, so their slots can be filled with the chunks
+     * ahead of them
+     * @param index the chunk that is no longer read
+     */
+    public void release(long index) {
+        head = index + 1;
+        wake();
+    }
+
+    /**
+     * makes the chunks on a background thread from now on
+     */
+    public void startBackground() {
+        if(thread != null){
+            return;
+        }
+        running = true;
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while(running){
+                    if(!fillOne()){
+                        LockSupport.park(this);
+                    }
+                }
+            }
+        }, "obstacles");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * stops the background thread and waits for it, the chunks are made on the simulation's thread
+     * again after this
+     */
+    public void stopBackground() {
+        if(thread == null){
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+        fill();
+    }
+
+    /**
+     * gets how many chunks the background thread did not have ready in time
+     * @return the number of chunks the simulation made itself as an int
+     */
+    public int getMisses() {
+        return misses;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * has the chunks made again after the ring changed, by the background thread if there is one
+     */
+    private void wake() {
+        if(thread != null){
+            LockSupport.unpark(thread);
+        } else {
+            fill();
+        }
+    }
+
+    /**
+     * fills every free slot of the ring
+     */
+    private void fill() {
+        while(fillOne()){
+        }
+    }
+
+    /**
+     * makes the next chunk the ring is missing
+     * @return boolean true if a chunk was made, false if the ring is full
+     */
+    private boolean fillOne() {
+        int e = epoch; // read first, so the seed and head are at least as new as it
+        long s = seed;
+        long h = head;
+        if(e != filledEpoch || next < h){
+            filledEpoch = e;
+            next = h;
+        }
+        if(next >= h + CAPACITY){
+            return false;
+        }
+
+        ObstacleChunk slot = slots[(int) (next % CAPACITY)];
+        long stamp = stamp(e, next);
+        if(slot.stamp != stamp){
+            slot.stamp = ObstacleChunk.EMPTY;
+            writer.generate(s, next, slot);
+            slot.stamp = stamp;
+        }
+        next++;
+        return true;
+    }
+
+    /**
+     * what a slot holding a chunk of a run is stamped with
+     */
+    private static long stamp(int epoch, long index) {
+        return ((long) epoch << 40) | index;
+    }
+}
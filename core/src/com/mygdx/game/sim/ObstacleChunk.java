@@ -0,0 +1,53 @@
+package com.mygdx.game.sim;
+
+/**
+ * the layout of a few tubes in a row, made by an ObstacleGenerator and handed out by an
+ * ObstacleBuffer
+ *
+ * a chunk is made once and its arrays are written over for every chunk it holds after that, so
+ * making tubes allocates nothing
+ */
+public class ObstacleChunk {
+
+    static final long EMPTY = -1; // stamp of a chunk that is being written or holds nothing yet
+
+    final float[] x = new float[ObstacleGenerator.CHUNK_TUBES]; // left of every tube
+    final float[] top = new float[ObstacleGenerator.CHUNK_TUBES]; // bottom edge of the top tube, the middle of its movement
+    final int[] gap = new int[ObstacleGenerator.CHUNK_TUBES]; // space between the top and bottom tube
+    final int[] amplitude = new int[ObstacleGenerator.CHUNK_TUBES]; // how far the tube moves up and down, 0 for still tubes
+    final float[] phase = new float[ObstacleGenerator.CHUNK_TUBES]; // where in its movement the tube is at the start of the run
+    float period; // how long a moving tube takes to go up and back down in seconds
+    long index; // which chunk of the run this is, the first is 0
+
+    // which run and chunk the arrays hold, written last by the thread that made the chunk so a
+    // reader that sees the stamp also sees the arrays
+    volatile long stamp = EMPTY;
+
+    public float getX(int tube) {
+        return x[tube];
+    }
+
+    public float getTop(int tube) {
+        return top[tube];
+    }
+
+    public int getGap(int tube) {
+        return gap[tube];
+    }
+
+    public int getAmplitude(int tube) {
+        return amplitude[tube];
+    }
+
+    public float getPhase(int tube) {
+        return phase[tube];
+    }
+
+    public float getPeriod() {
+        return period;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+}
@@ -0,0 +1,75 @@
+package com.mygdx.game.sim;
+
+/**
+ * makes the layout of the tubes of a run one chunk at a time
+ *
+ * every chunk gets its own random generator seeded from the run seed and the chunk's index, so a
+ * chunk can be made on any thread, in any order and any number of times and always comes out the
+ * same. the openings shrink and the tubes start moving the further into the run the chunk is
+ * (see Difficulty)
+ *
+ * a generator keeps its random generator between calls, so each thread needs its own
+ */
+public class ObstacleGenerator {
+
+    public static final int CHUNK_TUBES = 4; // tubes in one chunk
+    public static final int TUBE_DISTANCE = TubeBody.WIDTH + Simulation.TUBE_SPACING; // from one tube to the next
+    public static final int CHUNK_WIDTH = CHUNK_TUBES * TUBE_DISTANCE;
+
+    private final Tuning tuning;
+    private final Difficulty difficulty;
+    private final TubeSpawner spawner;
+
+    /**
+     * constructor method
+     * @param tuning gives the size of the gap and how far the opening can move
+     * @param difficulty how the tubes get harder further into the run
+     */
+    public ObstacleGenerator(Tuning tuning, Difficulty difficulty) {
+        this.tuning = tuning;
+        this.difficulty = difficulty;
+        spawner = new TubeSpawner(0, tuning);
+    }
+
+    /**
+     * writes the layout of one chunk of a run
+     * @param seed the seed of the run as a long
+     * @param chunk which chunk of the run, the first is 0
+     * @param out the ObstacleChunk to write into
+     */
+    public void generate(long seed, long chunk, ObstacleChunk out) {
+        spawner.reset(chunkSeed(seed, chunk));
+        int most = (tuning.getFluctuation() - 1) / 2; // a tube can not move further than its opening is picked from
+        for(int i = 0; i < CHUNK_TUBES; i++){
+            long tube = chunk * CHUNK_TUBES + i;
+            int gap = difficulty.gap(tube, tuning.getTubeGap());
+            int amplitude = Math.min(difficulty.amplitude(tube), most);
+            out.x[i] = (tube + 1) * TUBE_DISTANCE;
+            out.gap[i] = gap;
+            out.amplitude[i] = amplitude;
+            out.top[i] = spawner.nextTop(gap, amplitude);
+            out.phase[i] = spawner.nextPhase();
+        }
+        out.period = difficulty.getMovePeriod();
+        out.index = chunk;
+    }
+
+    /**
+     * mixes the run seed and chunk index so neighbouring chunks get unrelated random generators
+     * (the finalizer of splitmix64)
+     */
+    private static long chunkSeed(long seed, long chunk) {
+        long z = seed + (chunk + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public Tuning getTuning() {
+        return tuning;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+}
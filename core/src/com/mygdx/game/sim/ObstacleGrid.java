@@ -0,0 +1,220 @@
+package com.mygdx.game.sim;
+
+import java.util.Arrays;
+
+/**
+ * finds the actors near a stretch of the world without looking at every actor: a uniform grid
+ * along x, the axis the world scrolls on, for obstacles, pickups and anything else that stays
+ * put between being placed (the bird is not in it)
+ *
+ * the world is cut into cells of the same width and every actor is in the bucket of the cell its
+ * left edge is in. an actor is put in again when it is placed somewhere else (update), which only
+ * moves it from one bucket to another. a query only looks in the buckets of the cells it spans, so
+ * it costs the same however many actors there are as long as they are spread out along the world
+ *
+ * the world goes on forever so there is not a bucket for every cell, cells share the buckets in a
+ * ring (cell & mask). there are always at least as many buckets as actors in the grid, so the
+ * actors placed ahead of the camera hardly ever share one. the buckets are chains through arrays
+ * indexed by actor id, nothing is allocated unless the grid grows
+ */
+public class ObstacleGrid {
+
+    private static final int NONE = -1;
+
+    private final Actors actors;
+    private final float cellWidth;
+
+    private int[] heads; // the first actor in every bucket, NONE for an empty one
+    private int mask; // heads.length - 1
+    private int[] next; // the actor after one in its bucket
+    private int[] previous; // the actor before one in its bucket, NONE for the first
+    private int[] cell; // the cell an actor is in
+    private boolean[] contained;
+    private int size;
+
+    int[] found; // what the last query found
+    private int foundCount;
+
+    /**
+     * makes an empty grid
+     * @param actors the Actors whose x positions are used
+     * @param cellWidth how wide a cell is as a float, about the distance between two actors
+     * @param capacity how many actors to make room for as an int, more are made room for when needed
+     */
+    public ObstacleGrid(Actors actors, float cellWidth, int capacity) {
+        this.actors = actors;
+        this.cellWidth = cellWidth;
+        int buckets = Integer.highestOneBit(Math.max(capacity, 8) - 1) << 1;
+        heads = new int[buckets];
+        Arrays.fill(heads, NONE);
+        mask = buckets - 1;
+        next = new int[buckets];
+        previous = new int[buckets];
+        cell = new int[buckets];
+        contained = new boolean[buckets];
+        found = new int[16];
+    }
+
+    /**
+     * puts an actor in the cell of where it is now, to be called every time it is placed
+     * @param id the id of the actor as an int
+     */
+    public void update(int id) {
+        int c = cellOf(actors.x[id]);
+        if(id < contained.length && contained[id]){
+            if(cell[id] == c){
+                return;
+            }
+            unlink(id);
+        } else {
+            if(id >= contained.length){
+                growActors(id + 1);
+            }
+            if(size == heads.length){
+                growBuckets();
+            }
+            contained[id] = true;
+            size++;
+        }
+        link(id, c);
+    }
+
+    /**
+     * takes an actor out of the grid
+     * @param id the id of the actor as an int
+     */
+    public void remove(int id) {
+        if(id >= contained.length || !contained[id]){
+            return;
+        }
+        unlink(id);
+        contained[id] = false;
+        size--;
+    }
+
+    /**
+     * takes every actor out of the grid
+     */
+    public void clear() {
+        Arrays.fill(heads, NONE);
+        Arrays.fill(contained, false);
+        size = 0;
+    }
+
+    /**
+     * finds every actor in the grid with its left edge between two x positions, read them with
+     * getFound until the next query
+     * @param from the leftmost x as a float
+     * @param to the rightmost x as a float
+     * @return how many were found as an int
+     */
+    public int query(float from, float to) {
+        foundCount = 0;
+        if(to < from){
+            return 0;
+        }
+        float[] x = actors.x;
+        int first = cellOf(from);
+        int last = cellOf(to);
+        if((long) last - first >= mask){
+            // spans every bucket anyway, look in each of them once
+            for(int b = 0; b <= mask; b++){
+                for(int id = heads[b]; id != NONE; id = next[id]){
+                    if(x[id] >= from && x[id] <= to){
+                        add(id);
+                    }
+                }
+            }
+            return foundCount;
+        }
+        for(int c = first; c <= last; c++){
+            for(int id = heads[c & mask]; id != NONE; id = next[id]){
+                if(cell[id] == c && x[id] >= from && x[id] <= to){
+                    add(id);
+                }
+            }
+        }
+        return foundCount;
+    }
+
+    /**
+     * gets an actor the last query found
+     * @param index from 0 to what query returned - 1 as an int
+     * @return the id of the actor as an int
+     */
+    public int getFound(int index) {
+        return found[index];
+    }
+
+    /**
+     * gets how many actors are in the grid
+     * @return the number of actors as an int
+     */
+    public int getSize() {
+        return size;
+    }
+
+    private int cellOf(float x) {
+        return (int) Math.floor(x / cellWidth);
+    }
+
+    private void add(int id) {
+        if(foundCount == found.length){
+            found = Arrays.copyOf(found, foundCount * 2);
+        }
+        found[foundCount++] = id;
+    }
+
+    /**
+     * puts an actor at the front of the bucket of a cell
+     */
+    private void link(int id, int c) {
+        int b = c & mask;
+        cell[id] = c;
+        previous[id] = NONE;
+        next[id] = heads[b];
+        if(heads[b] != NONE){
+            previous[heads[b]] = id;
+        }
+        heads[b] = id;
+    }
+
+    /**
+     * takes an actor out of its bucket
+     */
+    private void unlink(int id) {
+        if(previous[id] == NONE){
+            heads[cell[id] & mask] = next[id];
+        } else {
+            next[previous[id]] = next[id];
+        }
+        if(next[id] != NONE){
+            previous[next[id]] = previous[id];
+        }
+    }
+
+    /**
+     * makes room for actors with higher ids
+     */
+    private void growActors(int ids) {
+        int capacity = Math.max(ids, contained.length * 2);
+        next = Arrays.copyOf(next, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+        cell = Arrays.copyOf(cell, capacity);
+        contained = Arrays.copyOf(contained, capacity);
+    }
+
+    /**
+     * doubles the buckets and puts every actor in again
+     */
+    private void growBuckets() {
+        heads = new int[heads.length * 2];
+        Arrays.fill(heads, NONE);
+        mask = heads.length - 1;
+        for(int id = 0; id < contained.length; id++){
+            if(contained[id]){
+                link(id, cell[id]);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.mygdx.game.sim;
+
+/**
+ * moves obstacles that went off the left of the screen to where the next tube of the layout goes,
+ * so a run never makes or removes an obstacle however far it goes, it only reuses them
+ *
+ * the layout is read from an ObstacleBuffer, a chunk is let go of once every tube of it is placed.
+ * every obstacle placed is put in the ObstacleGrid again, and only the stretch of the world the
+ * camera has left since the last tick is looked at for obstacles to move
+ */
+public class RecycleSystem {
+
+    private final ObstacleBuffer obstacles;
+    private final ObstacleGrid grid;
+    private long next; // which tube of the run is placed next
+    private float passed; // every obstacle left of this is recycled already
+
+    /**
+     * constructor method
+     * @param obstacles the ObstacleBuffer the layout of the run is read from
+     * @param grid the ObstacleGrid the obstacles are kept in
+     */
+    public RecycleSystem(ObstacleBuffer obstacles, ObstacleGrid grid) {
+        this.obstacles = obstacles;
+        this.grid = grid;
+    }
+
+    /**
+     * places every obstacle at the first tubes of the run, in the order they were made
+     * @param actors the Actors of the world
+     */
+    public void placeAll(Actors actors) {
+        next = 0;
+        passed = Float.MAX_VALUE;
+        for(int i = 0; i < actors.count; i++){
+            int a = actors.live[i];
+            if((actors.components[a] & Actors.OBSTACLE) != 0){
+                placeNext(actors, a, 0);
+                passed = Math.min(passed, actors.x[a]);
+            }
+        }
+    }
+
+    /**
+     * moves every obstacle the camera has left behind to the front
+     * @param actors the Actors of the world
+     * @param viewLeft the left edge of the camera as a float
+     * @param time how long the run has gone for in seconds as a float
+     */
+    public void step(Actors actors, float viewLeft, float time) {
+        // a pixel either side so the rounding of the edge can not hide one from the check below
+        float to = viewLeft - TubeBody.WIDTH + 1;
+        if(to < passed){
+            return;
+        }
+        int found = grid.query(passed, to);
+        int[] ids = grid.found;
+        int[] components = actors.components;
+        float[] x = actors.x;
+        for(int i = 0; i < found; i++){
+            int a = ids[i];
+            if((components[a] & Actors.OBSTACLE) != 0 && viewLeft > x[a] + TubeBody.WIDTH){
+                placeNext(actors, a, time);
+            }
+        }
+        passed = to - 2; // one right on the edge is looked at again next tick
+    }
+
+    /**
+     * moves an obstacle to where the next tube of the run goes
+     */
+    private void placeNext(Actors actors, int actor, float time) {
+        long chunk = next / ObstacleGenerator.CHUNK_TUBES;
+        int index = (int) (next % ObstacleGenerator.CHUNK_TUBES);
+        actors.placeObstacle(actor, obstacles.chunk(chunk), index, time);
+        grid.update(actor);
+        if(index == ObstacleGenerator.CHUNK_TUBES - 1){
+            obstacles.release(chunk);
+        }
+        next++;
+    }
+}
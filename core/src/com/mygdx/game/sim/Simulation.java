@@ -0,0 +1,293 @@
+package com.mygdx.game.sim;
+
+import com.mygdx.game.profiling.FrameProfiler;
+
+/**
+ * one run of the game with no graphics or sound: the bird, the tubes, collisions and the score
+ *
+ * the play state only draws what is in here, and anything else (a headless runner, a bot, a test)
+ * can step it without a window as fast as the cpu allows
+ *
+ * the layout of the tubes is read from an ObstacleBuffer that keeps the next chunks ready ahead
+ * of the camera, the run gets harder further in (see Difficulty)
+ *
+ * the bird and tubes are Actors, ids into arrays of components, and a tick is the systems run over
+ * them one after the other (gravity, movement, animation, recycling, collision). the tubes are
+ * made once and recycled, so a run allocates nothing. the tubes are kept in an ObstacleGrid and
+ * only the ones near the camera are moved, collided with and drawn, so a tick costs the same
+ * however many there are
+ */
+public class Simulation {
+
+    public static final float STEP = 1 / 60f; // length of one tick in seconds
+
+    public static final int TUBE_SPACING = 125;
+    public static final int TUBE_COUNT = 4;
+    public static final int GROUND_Y_OFFSET = -30;
+    public static final int GROUND_HEIGHT = 112; // height of ground.png
+    public static final int VIEW_WIDTH = 240; // width the camera sees (half the window)
+    public static final int CAMERA_OFFSET = 80; // how far ahead of the bird the camera looks
+
+    public static final int START_X = 50;
+    public static final int START_Y = 300;
+
+    private final Actors actors; // the bird and tubes
+    private final int bird; // the id of the bird
+    private final ObstacleGrid grid; // the tubes by where they are
+    private final ObstacleBuffer obstacles; // the layout of the tubes ahead of the camera
+    private final RecycleSystem recycler;
+    private final CollisionSystem collisions;
+    private final Tuning tuning;
+    private final Difficulty difficulty;
+    private final CollisionMasks masks; // pixel masks of the bird and tubes, null to collide on boxes only
+    private FrameProfiler profiler; // times the phases of a tick, null when not profiling
+
+    private int score;
+    private int tick;
+    private boolean dead;
+    private float impact = Sweep.MISS; // when in its last tick the bird hit a tube, 0 to 1
+
+    /**
+     * makes a new run with the bird at its spawn point and the tubes in front of it, the bird and
+     * tubes collide on their whole boxes
+     * @param seed the seed of the tube openings, the same seed always gives the same tubes
+     */
+    public Simulation(long seed) {
+        this(seed, null);
+    }
+
+    /**
+     * makes a new run with the bird at its spawn point and the tubes in front of it
+     * @param seed the seed of the tube openings, the same seed always gives the same tubes
+     * @param masks the pixel masks the bird and tubes collide on, null to collide on their boxes
+     */
+    public Simulation(long seed, CollisionMasks masks) {
+        this(seed, masks, Tuning.DEFAULT, Difficulty.DEFAULT);
+    }
+
+    /**
+     * makes a new run with other physics or difficulty than the game's, to try out balance changes
+     * @param seed the seed of the tube openings, the same seed always gives the same tubes
+     * @param masks the pixel masks the bird and tubes collide on, null to collide on their boxes
+     * @param tuning the physics of the bird and size of the openings
+     * @param difficulty how the run gets harder further in
+     */
+    public Simulation(long seed, CollisionMasks masks, Tuning tuning, Difficulty difficulty) {
+        this.masks = masks;
+        this.tuning = tuning;
+        this.difficulty = difficulty;
+        obstacles = new ObstacleBuffer(seed, tuning, difficulty);
+        actors = new Actors(TUBE_COUNT + 1);
+        grid = new ObstacleGrid(actors, ObstacleGenerator.TUBE_DISTANCE, TUBE_COUNT);
+        recycler = new RecycleSystem(obstacles, grid);
+        collisions = new CollisionSystem(masks, grid);
+        bird = actors.create(Actors.BODY | Actors.MOTION | Actors.GRAVITY | Actors.ANIMATION | Actors.SPRITE);
+        actors.setSprite(bird, Actors.SPRITE_BIRD);
+        placeBird();
+        for(int i = 0; i < TUBE_COUNT; i++){
+            int tube = actors.create(Actors.BODY | Actors.OBSTACLE | Actors.SCORE | Actors.SPRITE);
+            actors.setSprite(tube, Actors.SPRITE_TUBE);
+        }
+        recycler.placeAll(actors);
+    }
+
+    /**
+     * starts a new run in the same objects, exactly as if a new Simulation was made with the seed
+     * (without allocating anything)
+     * @param seed the seed of the tube openings of the new run
+     */
+    public void reset(long seed) {
+        obstacles.reset(seed);
+        placeBird();
+        recycler.placeAll(actors);
+        score = 0;
+        tick = 0;
+        dead = false;
+        impact = Sweep.MISS;
+    }
+
+    /**
+     * makes the bird jump, takes effect on the next tick
+     */
+    public void jump() {
+        if(!dead){
+            actors.velocityY[bird] = tuning.getJumpVelocity();
+        }
+    }
+
+    /**
+     * moves the whole run forward by one tick
+     *
+     * the following happens on every tick:
+     * 1. update the birds position (gravity, movement and animation systems), at the speed of how
+     *    far into the run it is, and moves the moving tubes the camera sees up or down
+     * 2. moves tubes that went off screen to the front (the next tube of the run, the recycle
+     *    system; the ground only scrolls on screen, see sprites.ParallaxLayer)
+     * 3. detects collision between bird and the tubes (along the whole move of the tick, so the
+     *    bird can not pass through a tube between two ticks, and on their pixels when there are
+     *    masks) as well as the ground
+     * 4. counts the tubes the bird has passed
+     *
+     * @return boolean true if the bird is still alive after the tick, false otherwise
+     */
+    public boolean step() {
+        if(dead){
+            return false;
+        }
+
+        tick++;
+        if(profiler != null){
+            profiler.begin(FrameProfiler.PHYSICS);
+        }
+        float time = tick * STEP;
+        actors.velocityX[bird] = difficulty.speedAt(actors.x[bird]);
+        GravitySystem.step(actors);
+        MovementSystem.step(actors, STEP);
+        MovementSystem.step(actors, grid, getViewFrom(), getViewTo(), time);
+        AnimationSystem.step(actors, STEP);
+
+        if(profiler != null){
+            profiler.end(FrameProfiler.PHYSICS);
+            profiler.begin(FrameProfiler.RECYCLE);
+        }
+        recycler.step(actors, getCameraX() - VIEW_WIDTH / 2, time);
+
+        if(profiler != null){
+            profiler.end(FrameProfiler.RECYCLE);
+            profiler.begin(FrameProfiler.COLLISION);
+        }
+        impact = collisions.sweep(actors, bird);
+        dead = impact != Sweep.MISS;
+        score += collisions.score(actors, bird);
+        if(collisions.onGround(actors, bird)){
+            dead = true;
+        }
+
+        if(profiler != null){
+            profiler.end(FrameProfiler.COLLISION);
+        }
+        return !dead;
+    }
+
+    /**
+     * copies this tick into a snapshot for drawing
+     * @param out the Snapshot to write into
+     * @param time when the tick was run (System.nanoTime) as a long
+     * @param jumps how many jumps there have been as an int
+     * @param run how many runs there have been as an int
+     */
+    public void writeSnapshot(Snapshot out, long time, int jumps, int run) {
+        out.set(this, time, jumps, run);
+    }
+
+    /**
+     * times the physics, recycling and collision of every tick from now on
+     * @param profiler the FrameProfiler to add the times to, null to stop timing
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * where the camera is centered so the bird stays on the left of the screen
+     * @return the camera x position as a float
+     */
+    public float getCameraX() {
+        return actors.x[bird] + CAMERA_OFFSET;
+    }
+
+    public CollisionMasks getMasks() {
+        return masks;
+    }
+
+    public long getSeed() {
+        return obstacles.getSeed();
+    }
+
+    /**
+     * gets the ring the tubes are read from, to have its chunks made on a background thread
+     * @return the ObstacleBuffer of the run
+     */
+    public ObstacleBuffer getObstacles() {
+        return obstacles;
+    }
+
+    public Tuning getTuning() {
+        return tuning;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * gets the bird, the tubes and anything else in the run
+     * @return the Actors of the run, only to be changed by the simulation
+     */
+    public Actors getActors() {
+        return actors;
+    }
+
+    /**
+     * gets the tubes (and anything else that stays put) by where they are
+     * @return the ObstacleGrid of the run
+     */
+    public ObstacleGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * gets where the left edge of anything drawn on this tick can be: the camera's left edge on
+     * the tick before (the bird is drawn between the two) less the widest actor
+     * @return the x position as a float
+     */
+    public float getViewFrom() {
+        return actors.previousX[bird] + CAMERA_OFFSET - VIEW_WIDTH / 2 - TubeBody.WIDTH - 1;
+    }
+
+    /**
+     * gets where the right edge of the camera is on this tick
+     * @return the x position as a float
+     */
+    public float getViewTo() {
+        return getCameraX() + VIEW_WIDTH / 2 + 1;
+    }
+
+    /**
+     * gets the bird in the actors
+     * @return the id of the bird as an int
+     */
+    public int getBird() {
+        return bird;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public boolean isDead() {
+        return dead;
+    }
+
+    /**
+     * when during the last tick the bird hit a tube, the bird was at
+     * lerp(previous position, position, impact) when it hit
+     * @return the time of impact from 0 to 1 as a float, Sweep.MISS if it has not hit a tube
+     */
+    public float getImpactTime() {
+        return impact;
+    }
+
+    /**
+     * puts the bird back at its spawn point with no speed, on the first frame of its flap
+     */
+    private void placeBird() {
+        actors.place(bird, START_X, START_Y);
+        actors.setMotion(bird, BirdBody.MOVEMENT, tuning.getGravity());
+        actors.setAnimation(bird, BirdBody.FRAMES, BirdBody.FRAME_TIME);
+    }
+}
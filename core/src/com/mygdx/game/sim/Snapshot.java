@@ -0,0 +1,187 @@
+package com.mygdx.game.sim;
+
+import java.util.Arrays;
+
+/**
+ * everything needed to draw one tick of a Simulation: where the bird was on this tick and the
+ * one before, every actor with a sprite, the score, and counters the renderer uses to play sounds
+ * and spot new runs
+ *
+ * the actors are copied into arrays of their own (what they are drawn as and where): the ones
+ * that move first, then the ones the ObstacleGrid has in view, so the copy costs the same however
+ * many tubes are further away. the arrays only grow when a run has more sprites than ever before
+ *
+ * only the Simulation writes into a snapshot (the setters are package-private), everything else
+ * can only read it, so once a snapshot has been handed to the renderer it does not change
+ */
+public class Snapshot {
+
+    private int[] sprite = new int[Simulation.TUBE_COUNT + 1];
+    private float[] x = new float[Simulation.TUBE_COUNT + 1];
+    private float[] y = new float[Simulation.TUBE_COUNT + 1];
+    private float[] previousX = new float[Simulation.TUBE_COUNT + 1];
+    private float[] previousY = new float[Simulation.TUBE_COUNT + 1];
+    private float[] bottomY = new float[Simulation.TUBE_COUNT + 1]; // of the bottom tube of an obstacle
+    private int sprites;
+
+    private float birdX, birdY;
+    private float previousBirdX, previousBirdY;
+    private int birdFrame;
+    private int score;
+    private int tick;
+    private long time; // wall clock time (System.nanoTime) the tick was run for
+    private int jumps; // jumps so far, the renderer plays a flap when it goes up
+    private int run; // runs so far, the renderer resets its animations when it goes up
+
+    /**
+     * copies the state of a simulation in
+     * @param sim the Simulation to copy
+     * @param time when the tick was run (System.nanoTime) as a long
+     * @param jumps how many jumps there have been as an int
+     * @param run how many runs there have been as an int
+     */
+    void set(Simulation sim, long time, int jumps, int run) {
+        Actors actors = sim.getActors();
+        int bird = sim.getBird();
+        birdX = actors.x[bird];
+        birdY = actors.y[bird];
+        previousBirdX = actors.previousX[bird];
+        previousBirdY = actors.previousY[bird];
+        birdFrame = actors.frame[bird];
+
+        sprites = 0;
+        for(int i = 0; i < actors.moverCount; i++){
+            add(actors, actors.movers[i]);
+        }
+        ObstacleGrid grid = sim.getGrid();
+        int found = grid.query(sim.getViewFrom(), sim.getViewTo());
+        for(int i = 0; i < found; i++){
+            add(actors, grid.found[i]);
+        }
+
+        score = sim.getScore();
+        tick = sim.getTick();
+        this.time = time;
+        this.jumps = jumps;
+        this.run = run;
+    }
+
+    public float getBirdX() {
+        return birdX;
+    }
+
+    public float getBirdY() {
+        return birdY;
+    }
+
+    public float getPreviousBirdX() {
+        return previousBirdX;
+    }
+
+    public float getPreviousBirdY() {
+        return previousBirdY;
+    }
+
+    public int getBirdFrame() {
+        return birdFrame;
+    }
+
+    /**
+     * gets how many actors there are to draw
+     * @return the number of sprites as an int
+     */
+    public int getSprites() {
+        return sprites;
+    }
+
+    /**
+     * gets what an actor is drawn as
+     * @param i from 0 to getSprites() - 1 as an int
+     * @return Actors.SPRITE_BIRD or Actors.SPRITE_TUBE
+     */
+    public int getSprite(int i) {
+        return sprite[i];
+    }
+
+    public float getX(int i) {
+        return x[i];
+    }
+
+    /**
+     * gets where an actor is up, for an obstacle the bottom edge of its top tube
+     * @param i from 0 to getSprites() - 1 as an int
+     * @return the y position as a float
+     */
+    public float getY(int i) {
+        return y[i];
+    }
+
+    public float getPreviousX(int i) {
+        return previousX[i];
+    }
+
+    public float getPreviousY(int i) {
+        return previousY[i];
+    }
+
+    /**
+     * gets where the bottom tube of an obstacle starts
+     * @param i from 0 to getSprites() - 1 as an int
+     * @return the y position of the bottom tube as a float
+     */
+    public float getBottomY(int i) {
+        return bottomY[i];
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public int getJumps() {
+        return jumps;
+    }
+
+    public int getRun() {
+        return run;
+    }
+
+    /**
+     * copies an actor in if it has a sprite
+     */
+    private void add(Actors actors, int a) {
+        if((actors.components[a] & Actors.SPRITE) == 0){
+            return;
+        }
+        if(sprites == sprite.length){
+            grow();
+        }
+        sprite[sprites] = actors.sprite[a];
+        x[sprites] = actors.x[a];
+        y[sprites] = actors.y[a];
+        previousX[sprites] = actors.previousX[a];
+        previousY[sprites] = actors.previousY[a];
+        bottomY[sprites] = actors.getBottomY(a);
+        sprites++;
+    }
+
+    /**
+     * doubles the arrays of the sprites
+     */
+    private void grow() {
+        int capacity = sprite.length * 2;
+        sprite = Arrays.copyOf(sprite, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        bottomY = Arrays.copyOf(bottomY, capacity);
+    }
+}
@@ -0,0 +1,50 @@
+package com.mygdx.game.sim;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * hands snapshots from the thread stepping a simulation to the thread drawing it without either
+ * of them ever waiting for the other
+ *
+ * it is the usual lock-free form of double buffering, with a third snapshot in the middle: the
+ * writer fills its back snapshot and swaps it with the middle one, the reader swaps its front
+ * snapshot with the middle one whenever a newer one is there. the two threads never hold the same
+ * snapshot, so the one being drawn is never written to. the reader always gets the latest tick,
+ * ticks it was too slow to draw are skipped
+ */
+public class SnapshotBuffer {
+
+    private static final int FRESH = 4; // set on the middle index when the writer has published since the last read
+
+    private final Snapshot[] snapshots = {new Snapshot(), new Snapshot(), new Snapshot()};
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0; // only touched by the writer
+    private int front = 2; // only touched by the reader
+
+    /**
+     * gets the snapshot the writer fills next, only to be called by the writer
+     * @return the back Snapshot
+     */
+    public Snapshot back() {
+        return snapshots[back];
+    }
+
+    /**
+     * hands the filled back snapshot to the reader, only to be called by the writer
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & ~FRESH;
+    }
+
+    /**
+     * gets the newest published snapshot, only to be called by the reader. it stays the same
+     * until the next call
+     * @return the latest Snapshot
+     */
+    public Snapshot latest() {
+        if((middle.get() & FRESH) != 0){
+            front = middle.getAndSet(front) & ~FRESH;
+        }
+        return snapshots[front];
+    }
+}
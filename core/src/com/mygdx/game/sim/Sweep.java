@@ -0,0 +1,70 @@
+package com.mygdx.game.sim;
+
+/**
+ * swept box tests: instead of only checking if two boxes overlap where a tick ends, a box is
+ * moved along its whole step and the first moment it overlaps the other box is found. a fast
+ * bird (or a long tick) can then never skip over a tube between two ticks
+ *
+ * overlap is strict, boxes that only touch edges do not hit
+ */
+public final class Sweep {
+
+    public static final float MISS = -1; // returned when the boxes never overlap during the step
+
+    private Sweep() {
+    }
+
+    /**
+     * finds when a moving box first overlaps a box that stays still
+     * @param x left of the moving box at the start of the step as a float
+     * @param y bottom of the moving box at the start of the step as a float
+     * @param w width of the moving box as a float
+     * @param h height of the moving box as a float
+     * @param dx how far the moving box goes right during the step as a float
+     * @param dy how far the moving box goes up during the step as a float
+     * @param ox left of the still box as a float
+     * @param oy bottom of the still box as a float
+     * @param ow width of the still box as a float
+     * @param oh height of the still box as a float
+     * @return the time of impact from 0 (start of the step) to 1 (end of the step) as a float,
+     *         0 if they already overlap at the start, MISS if they never overlap
+     */
+    public static float timeOfImpact(float x, float y, float w, float h, float dx, float dy,
+                                     float ox, float oy, float ow, float oh) {
+        float enterX, exitX;
+        if(dx == 0){
+            if(x >= ox + ow || x + w <= ox){
+                return MISS;
+            }
+            enterX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        } else {
+            float a = (ox - (x + w)) / dx;
+            float b = (ox + ow - x) / dx;
+            enterX = Math.min(a, b);
+            exitX = Math.max(a, b);
+        }
+
+        float enterY, exitY;
+        if(dy == 0){
+            if(y >= oy + oh || y + h <= oy){
+                return MISS;
+            }
+            enterY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        } else {
+            float a = (oy - (y + h)) / dy;
+            float b = (oy + oh - y) / dy;
+            enterY = Math.min(a, b);
+            exitY = Math.max(a, b);
+        }
+
+        // the boxes overlap while they overlap on both axes, that has to happen between 0 and 1
+        float enter = Math.max(enterX, enterY);
+        float exit = Math.min(exitX, exitY);
+        if(enter >= exit || enter >= 1 || exit <= 0){
+            return MISS;
+        }
+        return Math.max(enter, 0);
+    }
+}
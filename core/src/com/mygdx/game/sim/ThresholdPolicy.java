@@ -0,0 +1,32 @@
+package com.mygdx.game.sim;
+
+import java.util.Random;
+
+/**
+ * a simple jump rule for batches: each bird jumps when it is falling and drops below its own
+ * height above the next opening, the heights are spread out so the birds do not all fly alike
+ */
+public class ThresholdPolicy implements BatchPolicy {
+
+    private final float[] jumpBelow; // height above the bottom of the opening each bird jumps at
+
+    /**
+     * gives every bird a random jump height between min and max
+     * @param birds the number of birds as an int
+     * @param min the lowest jump height as a float
+     * @param max the highest jump height as a float
+     * @param seed seed of the random heights as a long
+     */
+    public ThresholdPolicy(int birds, float min, float max, long seed) {
+        Random rand = new Random(seed);
+        jumpBelow = new float[birds];
+        for(int i = 0; i < birds; i++){
+            jumpBelow[i] = min + rand.nextFloat() * (max - min);
+        }
+    }
+
+    @Override
+    public boolean shouldJump(int bird, float y, float velocityY, float dx, float gapBottom, float gapTop) {
+        return velocityY < 0 && y < gapBottom + jumpBelow[bird];
+    }
+}
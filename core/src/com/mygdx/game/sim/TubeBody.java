@@ -0,0 +1,70 @@
+package com.mygdx.game.sim;
+
+/**
+ * the sizes of one pair of tubes (top and bottom) with no textures, and how they move and are hit
+ *
+ * the simulation keeps its tubes as obstacle actors (see Actors), the systems and BatchSimulation
+ * use topAt and sweep from here so both move and collide the same way
+ */
+public final class TubeBody {
+
+    // size of toptube.png and bottomtube.png, the hitbox of each tube
+    public static final int WIDTH = 52;
+    public static final int HEIGHT = 320;
+
+    public static final int FLUCTUATION = 140; // amount a tube can move between 0 and 130
+    public static final int GAP = 150; // the space between each tube, before the Difficulty ramp
+    public static final int LOWEST_OPENING = 80; // lowest part the tube can be
+
+    private TubeBody() {
+    }
+
+    /**
+     * where a tube is at a time of the run, it goes up and down at a steady speed (so only float
+     * arithmetic that comes out the same on every machine is used)
+     * @param middleY the bottom edge of the top tube in the middle of its movement as a float
+     * @param amplitude how far it goes up and down as an int
+     * @param phase where in its movement it is at the start of the run, 0 to 1
+     * @param period how long it takes to go up and back down in seconds as a float
+     * @param time how long the run has gone for in seconds as a float
+     * @return the bottom edge of the top tube as a float
+     */
+    public static float topAt(float middleY, int amplitude, float phase, float period, float time) {
+        if(amplitude == 0){
+            return middleY;
+        }
+        float p = time / period + phase;
+        p -= (float) Math.floor(p);
+        return middleY + amplitude * (4 * Math.abs(p - 0.5f) - 1);
+    }
+
+    /**
+     * finds when a box moving over one tick first hits the top or bottom tube, a moving tube is
+     * swept against as if it stood still and the box moved by the difference instead (add how far
+     * the tube moved this tick to fromY)
+     * @param fromX left of the box at the start of the tick as a float
+     * @param fromY bottom of the box at the start of the tick as a float
+     * @param toX left of the box at the end of the tick as a float
+     * @param toY bottom of the box at the end of the tick as a float
+     * @param bw width of the box as a float
+     * @param bh height of the box as a float
+     * @param tubeX left of the tubes as a float
+     * @param topY bottom of the top tube as a float
+     * @param bottomY bottom of the bottom tube as a float
+     * @return the time of impact from 0 to 1 as a float, Sweep.MISS if it hits neither tube
+     */
+    public static float sweep(float fromX, float fromY, float toX, float toY, float bw, float bh,
+                              float tubeX, float topY, float bottomY) {
+        float dx = toX - fromX;
+        float dy = toY - fromY;
+        float hitTop = Sweep.timeOfImpact(fromX, fromY, bw, bh, dx, dy, tubeX, topY, WIDTH, HEIGHT);
+        float hitBot = Sweep.timeOfImpact(fromX, fromY, bw, bh, dx, dy, tubeX, bottomY, WIDTH, HEIGHT);
+        if(hitTop == Sweep.MISS){
+            return hitBot;
+        }
+        if(hitBot == Sweep.MISS){
+            return hitTop;
+        }
+        return Math.min(hitTop, hitBot);
+    }
+}
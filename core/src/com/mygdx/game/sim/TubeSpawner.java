@@ -0,0 +1,77 @@
+package com.mygdx.game.sim;
+
+import java.util.Random;
+
+/**
+ * picks where the opening of every new tube goes, and how moving tubes move, from one seeded
+ * random generator
+ *
+ * the openings are picked in the order the tubes are placed, so two spawners with the same seed
+ * (and the same tuning) always give exactly the same tubes. the ObstacleGenerator resets one to
+ * its own seed for every chunk of tubes
+ */
+public class TubeSpawner {
+
+    private long seed;
+    private final Tuning tuning;
+    private final Random rand;
+
+    /**
+     * makes a spawner with the default tuning
+     * @param seed the seed of the run as a long
+     */
+    public TubeSpawner(long seed) {
+        this(seed, Tuning.DEFAULT);
+    }
+
+    /**
+     * makes a spawner for a tuning
+     * @param seed the seed of the run as a long
+     * @param tuning gives the size of the gap and how far the opening can move
+     */
+    public TubeSpawner(long seed, Tuning tuning) {
+        this.seed = seed;
+        this.tuning = tuning;
+        rand = new Random(seed);
+    }
+
+    /**
+     * starts the openings over from a new seed, so a spawner can be used for another run
+     * @param seed the seed of the new run as a long
+     */
+    public void reset(long seed) {
+        this.seed = seed;
+        rand.setSeed(seed);
+    }
+
+    /**
+     * picks the opening of the next tube
+     * @return the bottom edge of the next top tube as a float
+     */
+    public float nextTop() {
+        return nextTop(tuning.getTubeGap(), 0);
+    }
+
+    /**
+     * picks the opening of the next tube, leaving room for it to move so it never goes further
+     * than a still tube could be
+     * @param gap the space between the top and bottom tube as an int
+     * @param amplitude how far the tube moves up and down from where it is picked as an int
+     * @return the bottom edge of the next top tube as a float
+     */
+    public float nextTop(int gap, int amplitude) {
+        return rand.nextInt(tuning.getFluctuation() - 2 * amplitude) + gap + TubeBody.LOWEST_OPENING + amplitude;
+    }
+
+    /**
+     * picks how far into its movement a moving tube starts
+     * @return the phase from 0 to 1 as a float
+     */
+    public float nextPhase() {
+        return rand.nextFloat();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
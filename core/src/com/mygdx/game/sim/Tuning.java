@@ -0,0 +1,51 @@
+package com.mygdx.game.sim;
+
+/**
+ * the physics and difficulty numbers of a run, so they can be changed when testing balance
+ * without touching the constants the game itself uses
+ */
+public class Tuning {
+
+    public static final Tuning DEFAULT = new Tuning(BirdBody.GRAVITY, BirdBody.JUMP_VELOCITY,
+            TubeBody.GAP, TubeBody.FLUCTUATION);
+
+    private final int gravity;
+    private final int jumpVelocity;
+    private final int tubeGap;
+    private final int fluctuation;
+
+    /**
+     * constructor method that takes every tunable number
+     * @param gravity speed added to the bird every tick (negative is down) as an int
+     * @param jumpVelocity upwards speed right after a jump as an int
+     * @param tubeGap the space between the top and bottom tube as an int
+     * @param fluctuation how far the opening can move up and down as an int
+     */
+    public Tuning(int gravity, int jumpVelocity, int tubeGap, int fluctuation) {
+        this.gravity = gravity;
+        this.jumpVelocity = jumpVelocity;
+        this.tubeGap = tubeGap;
+        this.fluctuation = fluctuation;
+    }
+
+    public int getGravity() {
+        return gravity;
+    }
+
+    public int getJumpVelocity() {
+        return jumpVelocity;
+    }
+
+    public int getTubeGap() {
+        return tubeGap;
+    }
+
+    public int getFluctuation() {
+        return fluctuation;
+    }
+
+    @Override
+    public String toString() {
+        return "gravity=" + gravity + " jump=" + jumpVelocity + " gap=" + tubeGap + " fluctuation=" + fluctuation;
+    }
+}
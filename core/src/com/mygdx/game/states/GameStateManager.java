@@ -1,22 +1,268 @@
 package com.mygdx.game.states;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.game.assets.AssetCache;
+import com.mygdx.game.audio.AudioService;
+import com.mygdx.game.input.InputQueue;
+import com.mygdx.game.profiling.FrameProfiler;
+import com.mygdx.game.profiling.LatencyTracker;
+import com.mygdx.game.profiling.QualityGovernor;
+import com.mygdx.game.replay.ReplayRecorder;
+import com.mygdx.game.replay.ReplayScript;
+import com.mygdx.game.sim.Autopilot;
+import com.mygdx.game.sim.Difficulty;
+import com.mygdx.game.sim.GhostRace;
+import com.mygdx.game.sim.Simulation;
+import com.mygdx.game.sim.Tuning;
+import com.mygdx.game.stats.RunStore;
 
 import java.util.Stack;
 
 /**
  * to manage states for example to layer pause in front of the game and then focus on that state
  * instead of the game state
+ *
+ * only the state on top is updated. a state that does not cover the whole screen (State.isOpaque)
+ * is drawn over the states under it, which are drawn once into a FrameBuffer when they get covered
+ * and from then on only the one texture is drawn, so a pause screen costs a quad and not a frame
+ * of the game. states hidden under an opaque one are not drawn at all. while the state on top does
+ * not move by itself (State.isAnimated) the game stops drawing frames until there is input
+ *
+ * when the QualityGovernor lowers the render scale the states are drawn into a target that much
+ * smaller than the screen, which is then stretched over it as one quad, so a gpu that can not fill
+ * every pixel of a high density screen in time fills fewer of them
  */
 public class GameStateManager {
+
+    public static final float STEP = Simulation.STEP; // length of one simulation tick in seconds
+    private static final int MAX_STEPS = 5; // most ticks run in one frame before time is dropped
+
     private Stack<State> states;
+    private float accumulator; // frame time that has not been simulated yet
+    private long tickTime; // wall clock time (System.nanoTime) the tick being run catches up to
+    private boolean simulationThread; // whether play states step their simulation on a thread of their own
+    private AssetCache assets; // shared textures and sounds for every state
+    private AudioService audio; // plays the sound effects
+    private ReplayRecorder recorder; // records every run of the session
+    private RunStore runs; // how every run of every session ended, and the best ones
+    private FrameProfiler profiler; // times every phase of a frame
+    private InputQueue input; // every tap with the time it happened
+    private LatencyTracker latency; // time from a tap to the frame showing its jump
+    private volatile Autopilot autopilot; // flies the menu demo and autoplay, null until its table is made
+    private boolean autopilotStarted;
+    private boolean autoplay; // whether play states fly themselves
+    private GhostRace ghosts; // earlier runs the play states race against, null for none
+    private ReplayScript script; // recorded runs the play states play instead of the player, null for none
+
+    private FrameBuffer backdrop; // the last frame of the states under the top one, null when none show
+    private TextureRegion backdropRegion; // the backdrop's texture, flipped since frame buffers are upside down
+    private boolean backdropCaptured; // false when the states under the top one changed
+    private final Matrix4 screen = new Matrix4(); // the whole screen as 0 to 1, for the backdrop quad
+    private boolean continuous = true; // whether frames are drawn all the time
+    private boolean dropTime; // throw away the time of the frame, the state on top was uncovered
+    private QualityGovernor quality = new QualityGovernor(); // how much is drawn and at what scale
+    private FrameBuffer target; // the frame drawn below the screen's resolution, null at full scale
+    private TextureRegion targetRegion;
 
     /**
-     * constructor function (no arguments needed)
+     * constructor function
      * simply creates a stack of all states that will be placed on top of one another
+     * @param assets the AssetCache every state gets its textures and sounds from
+     * @param audio the AudioService every state plays its sound effects with
+     * @param recorder the ReplayRecorder every run is recorded to
+     * @param runs the RunStore every finished run is kept in
+     * @param profiler the FrameProfiler the states add their timings to
+     * @param input the InputQueue the states take their taps from
+     * @param latency the LatencyTracker told about every tap that became a jump
      */
-    public GameStateManager() {
+    public GameStateManager(AssetCache assets, AudioService audio, ReplayRecorder recorder, RunStore runs, FrameProfiler profiler,
+                            InputQueue input, LatencyTracker latency) {
         states = new Stack<State>();
+        this.assets = assets;
+        this.audio = audio;
+        this.recorder = recorder;
+        this.runs = runs;
+        this.profiler = profiler;
+        this.input = input;
+        this.latency = latency;
+    }
+
+    /**
+     * gets the shared asset cache
+     * @return the AssetCache used by every state
+     */
+    public AssetCache getAssets() {
+        return assets;
+    }
+
+    /**
+     * gets the sound effect player
+     * @return the AudioService states play their effects with
+     */
+    public AudioService getAudio() {
+        return audio;
+    }
+
+    /**
+     * gets the replay recorder of the session
+     * @return the ReplayRecorder runs are recorded to
+     */
+    public ReplayRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * gets the store of every run ever played
+     * @return the RunStore finished runs are kept in
+     */
+    public RunStore getRuns() {
+        return runs;
+    }
+
+    /**
+     * gets the frame profiler
+     * @return the FrameProfiler states add their timings to
+     */
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * gets the queue of taps
+     * @return the InputQueue states take their taps from
+     */
+    public InputQueue getInput() {
+        return input;
+    }
+
+    /**
+     * gets the input latency tracker
+     * @return the LatencyTracker to tell when a tap became a jump
+     */
+    public LatencyTracker getLatency() {
+        return latency;
+    }
+
+    /**
+     * gets the wall clock time the tick being run catches up to, taps that happened at or before
+     * it belong to this tick
+     * @return the time (System.nanoTime) as a long
+     */
+    public long getTickTime() {
+        return tickTime;
+    }
+
+    /**
+     * makes the play states made from now on step their simulation on a thread of their own
+     * instead of in update, off by default
+     * @param simulationThread true to use a simulation thread
+     */
+    public void setSimulationThread(boolean simulationThread) {
+        this.simulationThread = simulationThread;
+    }
+
+    public boolean isSimulationThread() {
+        return simulationThread;
+    }
+
+    /**
+     * starts making the autopilot's table on a background thread, it takes too long to make in a
+     * frame. only the first call does anything
+     */
+    public void buildAutopilot() {
+        if(autopilotStarted){
+            return;
+        }
+        autopilotStarted = true;
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                autopilot = new Autopilot(Tuning.DEFAULT, Difficulty.DEFAULT);
+            }
+        }, "autopilot");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * gets the autopilot once its table is made
+     * @return the Autopilot, null if it is not ready yet (or buildAutopilot was never called)
+     */
+    public Autopilot getAutopilot() {
+        return autopilot;
+    }
+
+    /**
+     * gets the autopilot if play states should fly themselves
+     * @return the Autopilot, null with autoplay off or while it is not ready yet
+     */
+    public Autopilot getAutoplayPilot() {
+        return autoplay ? autopilot : null;
+    }
+
+    /**
+     * makes play states fly themselves with the autopilot, for leaving a build playing overnight,
+     * off by default
+     * @param autoplay true to let the autopilot play
+     */
+    public void setAutoplay(boolean autoplay) {
+        this.autoplay = autoplay;
+    }
+
+    public boolean isAutoplay() {
+        return autoplay;
+    }
+
+    /**
+     * makes play states race against the ghosts of earlier runs
+     * @param ghosts the GhostRace of the runs, null to race alone
+     */
+    public void setGhosts(GhostRace ghosts) {
+        this.ghosts = ghosts;
+    }
+
+    public GhostRace getGhosts() {
+        return ghosts;
+    }
+
+    /**
+     * makes play states play the runs of a replay file, seeds and jumps, instead of taking taps.
+     * only for play states stepped on the render thread (see setSimulationThread)
+     * @param script the ReplayScript of the runs, null for the player
+     */
+    public void setScript(ReplayScript script) {
+        this.script = script;
+    }
+
+    public ReplayScript getScript() {
+        return script;
+    }
+
+    /**
+     * whether a play state is on top of the stack, being played
+     * @return boolean true if it is
+     */
+    public boolean isPlaying() {
+        return !states.isEmpty() && states.peek() instanceof PlayState;
+    }
+
+    /**
+     * gives the states the governor that decides how much they draw
+     * @param quality the QualityGovernor fed with the frame times
+     */
+    public void setQuality(QualityGovernor quality) {
+        this.quality = quality;
+    }
+
+    public QualityGovernor getQuality() {
+        return quality;
     }
 
     /**
@@ -24,14 +270,24 @@ public class GameStateManager {
      * @param state the current state that overlaps
      */
     public void push(State state){
+        if(!states.isEmpty()){
+            states.peek().pause(); // covered states are not updated, it stops any thread it has
+        }
         states.push(state);
+        backdropCaptured = false;
     }
 
     /**
-     * pops and disposes the current state
+     * pops and disposes the current state, the state under it carries on from where it was
+     * (the time it was covered for is not caught up)
      */
     public void pop(){
         states.pop().dispose();
+        backdropCaptured = false;
+        if(!states.isEmpty()){
+            states.peek().resume();
+            dropTime = true;
+        }
     }
 
     /**
@@ -41,22 +297,202 @@ public class GameStateManager {
     public void set(State state){
         states.pop().dispose();
         states.push(state);
+        backdropCaptured = false;
+    }
+
+    /**
+     * starts the state at the top of the stack over by resetting it in place, instead of disposing
+     * it and making a new one with set (nothing is allocated or loaded)
+     */
+    public void restart(){
+        states.peek().reset();
+    }
+
+    /**
+     * tells the state at the top of the stack that the game went into the background, a state the
+     * player can pause gets a PauseState over it so it waits for a tap when the game comes back
+     */
+    public void pause(){
+        if(states.isEmpty()){
+            return;
+        }
+        if(states.peek().isPausable()){
+            push(new PauseState(this));
+        } else {
+            states.peek().pause();
+        }
+    }
+
+    /**
+     * tells the state at the top of the stack that the game came back
+     */
+    public void resume(){
+        if(!states.isEmpty()){
+            states.peek().resume();
+        }
+    }
+
+    /**
+     * pops and disposes every state, for when the game closes
+     */
+    public void dispose(){
+        while(!states.isEmpty()){
+            states.pop().dispose();
+        }
+        disposeBackdrop();
+        disposeTarget();
     }
 
     /**
      * updates the state at the top of the stack
+     *
+     * input is read once per frame, then the state is stepped in fixed ticks of STEP seconds for
+     * as much frame time as has built up. a long frame only runs more ticks (up to MAX_STEPS, the
+     * rest is dropped) so a slow phone never changes how high the bird jumps or how far it moves
+     * in one tick
+     *
+     * each tick is given the wall clock time it catches up to (getTickTime), so a state can apply
+     * the taps of the input queue on the tick they happened in rather than all at the frame start
      * @param dt delta time as a float
      */
     public void update(float dt){
-        states.peek().update(dt);
+        long now = TimeUtils.nanoTime();
+        profiler.begin(FrameProfiler.INPUT);
+        states.peek().handleInput();
+        profiler.end(FrameProfiler.INPUT);
+        if(dropTime){
+            dropTime = false;
+            dt = 0;
+            accumulator = 0;
+        }
+
+        accumulator += dt;
+        if(accumulator > STEP * MAX_STEPS){
+            accumulator = STEP * MAX_STEPS;
+        }
+
+        while(accumulator >= STEP){
+            accumulator -= STEP;
+            tickTime = now - (long) (accumulator * 1000000000L);
+            states.peek().update(STEP);
+        }
     }
 
     /**
-     * renders the state at the top of the stack
+     * renders the state at the top of the stack, into the smaller target when the render scale
+     * is under 1
      * @param sb SprietBatch that contains all images to be used
      */
     public void render(SpriteBatch sb){
-        states.peek().render(sb);
+        profiler.begin(FrameProfiler.RENDER);
+        float alpha = accumulator / STEP;
+        int top = states.size() - 1;
+        int bottom = top; // the lowest state that can be seen
+        while(bottom > 0 && !states.get(bottom).isOpaque()){
+            bottom--;
+        }
+        if(bottom < top){
+            captureBackdrop(sb, bottom, top, alpha); // frame buffers can not be nested, so before the target
+        } else if(backdrop != null){
+            disposeBackdrop(); // nothing is covered any more
+        }
+
+        float scale = quality.getRenderScale();
+        if(scale < 1){
+            beginTarget(scale);
+        } else if(target != null){
+            disposeTarget();
+        }
+        if(bottom < top){
+            drawFullScreen(sb, backdropRegion);
+        }
+        states.peek().render(sb, alpha);
+        if(target != null){
+            target.end();
+            drawFullScreen(sb, targetRegion);
+        }
+        profiler.end(FrameProfiler.RENDER);
+
+        boolean animated = states.peek().isAnimated();
+        if(animated != continuous){
+            continuous = animated;
+            Gdx.graphics.setContinuousRendering(animated);
+        }
+    }
+
+    /**
+     * draws the states from bottom (inclusive) to top (exclusive) into the backdrop frame buffer
+     * if they changed since it was last drawn (or the window was resized)
+     */
+    private void captureBackdrop(SpriteBatch sb, int bottom, int top, float alpha){
+        int width = Gdx.graphics.getBackBufferWidth();
+        int height = Gdx.graphics.getBackBufferHeight();
+        if(backdrop != null && (backdrop.getWidth() != width || backdrop.getHeight() != height)){
+            disposeBackdrop();
+        }
+        if(backdrop == null){
+            backdrop = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+            backdropRegion = new TextureRegion(backdrop.getColorBufferTexture());
+            backdropRegion.flip(false, true);
+            backdropCaptured = false;
+        }
+
+        if(!backdropCaptured){
+            backdrop.begin();
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+            for(int i = bottom; i < top; i++){
+                states.get(i).render(sb, alpha);
+            }
+            backdrop.end();
+            backdropCaptured = true;
+        }
+    }
+
+    /**
+     * starts drawing into the target, made again when the scale or the window size changed
+     */
+    private void beginTarget(float scale){
+        int width = Math.max(1, Math.round(Gdx.graphics.getBackBufferWidth() * scale));
+        int height = Math.max(1, Math.round(Gdx.graphics.getBackBufferHeight() * scale));
+        if(target != null && (target.getWidth() != width || target.getHeight() != height)){
+            disposeTarget();
+        }
+        if(target == null){
+            target = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+            targetRegion = new TextureRegion(target.getColorBufferTexture());
+            targetRegion.flip(false, true);
+        }
+        target.begin();
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+    }
+
+    /**
+     * draws a frame buffer's texture over the whole of what is being drawn to as one quad
+     */
+    private void drawFullScreen(SpriteBatch sb, TextureRegion region){
+        screen.setToOrtho2D(0, 0, 1, 1);
+        sb.setProjectionMatrix(screen);
+        sb.disableBlending(); // it covers everything under it
+        sb.begin();
+        sb.draw(region, 0, 0, 1, 1);
+        sb.end();
+        sb.enableBlending();
+    }
+
+    private void disposeBackdrop(){
+        if(backdrop != null){
+            backdrop.dispose();
+            backdrop = null;
+            backdropRegion = null;
+        }
+    }
+
+    private void disposeTarget(){
+        if(target != null){
+            target.dispose();
+            target = null;
+            targetRegion = null;
+        }
     }
 
 }
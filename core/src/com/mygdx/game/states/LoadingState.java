@@ -0,0 +1,92 @@
+package com.mygdx.game.states;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.mygdx.game.FlappyGame;
+import com.mygdx.game.profiling.StartupTrace;
+
+/**
+ * the first state of the game, shows a progress bar while the assets queued with
+ * AssetCache.preload load, then moves on to the menu
+ *
+ * the files are read and decoded on a background thread by the asset manager, this state only
+ * gives it BUDGET_MILLIS of every frame to upload them to the gpu so the bar keeps moving
+ */
+public class LoadingState extends State {
+
+    private static final int BUDGET_MILLIS = 8; // about half a frame at 60fps
+    private static final float BAR_WIDTH = 160;
+    private static final float BAR_HEIGHT = 6;
+
+    private final StartupTrace trace;
+    private final Texture pixel; // one white pixel, stretched into the bar (nothing else is loaded yet)
+
+    /**
+     * constructor method
+     * @param gsm GameStateManager
+     * @param trace the StartupTrace to mark when the game can be played
+     */
+    public LoadingState(GameStateManager gsm, StartupTrace trace) {
+        super(gsm);
+        this.trace = trace;
+        cam.setToOrtho(false, FlappyGame.WIDTH / 2, FlappyGame.HEIGHT / 2);
+
+        Pixmap white = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        white.setColor(Color.WHITE);
+        white.fill();
+        pixel = new Texture(white);
+        white.dispose();
+    }
+
+    /**
+     * loads the next part of the assets, done here since it should happen once per frame and
+     * nothing on this screen takes input (taps while loading are thrown away)
+     */
+    @Override
+    protected void handleInput() {
+        gsm.getInput().clear();
+        if(gsm.getAssets().update(BUDGET_MILLIS)){
+            trace.assetsLoaded();
+            gsm.set(new MenuState(gsm));
+            trace.interactive();
+        }
+    }
+
+    /**
+     * nothing moves while loading
+     * @param dlt delta time as a float
+     */
+    @Override
+    public void update(float dlt) {
+    }
+
+    /**
+     * draws the progress bar, grey for the whole bar and white for the part that is loaded
+     * @param sb the SpriteBatch to draw with
+     * @param alpha not used, nothing moves
+     */
+    @Override
+    public void render(SpriteBatch sb, float alpha) {
+        float x = (cam.viewportWidth - BAR_WIDTH) / 2;
+        float y = cam.viewportHeight / 2;
+
+        sb.setProjectionMatrix(cam.combined);
+        sb.begin();
+        sb.setColor(0.3f, 0.3f, 0.3f, 1);
+        sb.draw(pixel, x, y, BAR_WIDTH, BAR_HEIGHT);
+        sb.setColor(Color.WHITE);
+        sb.draw(pixel, x, y, BAR_WIDTH * gsm.getAssets().getProgress(), BAR_HEIGHT);
+        sb.end();
+    }
+
+    /**
+     * deletes the bar texture
+     */
+    @Override
+    public void dispose() {
+        pixel.dispose();
+        System.out.println("Loading State disposed");
+    }
+}
@@ -1,17 +1,37 @@
 package com.mygdx.game.states;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.mygdx.game.FlappyGame;
+import com.mygdx.game.assets.AssetCache;
+import com.mygdx.game.assets.SpriteAtlas;
+import com.mygdx.game.sim.Autopilot;
+import com.mygdx.game.sim.Simulation;
+import com.mygdx.game.sim.Snapshot;
+import com.mygdx.game.stats.Leaderboard;
 
 /**
  * the menu state before the game starts
+ *
+ * behind the play button the autopilot flies a demo run (attract mode), it starts as soon as the
+ * autopilot's table is made. with autoplay on (or a replay script) the menu starts the game by
+ * itself instead
+ *
+ * the best score of every session is shown under the button, read from the run store's
+ * leaderboard which is already in memory
  */
 public class MenuState extends State {
 
-    Texture background;
-    Texture playButton;
+    TextureRegion playButton;
+
+    private Simulation demo; // the run the autopilot flies behind the button
+    private Snapshot snapshot;
+    private SceneView view;
+    private BitmapFont font;
+    private String best; // the best score line, null before the first run
 
     /**
      * the constructor method that initializes the menu
@@ -20,52 +40,85 @@ public class MenuState extends State {
     public MenuState(GameStateManager gsm) {
         super(gsm);
 
-        //repositions camera and places the background and playbutton
+        //repositions camera and places the playbutton
         cam.setToOrtho(false, FlappyGame.WIDTH /2, FlappyGame.HEIGHT/2);
-        background = new Texture("bg.png");
-        playButton = new Texture("playbtn.png");
+        SpriteAtlas sprites = gsm.getAssets().sprites();
+        playButton = sprites.findRegion("playbtn");
+
+        demo = new Simulation(MathUtils.random.nextLong(), gsm.getAssets().masks());
+        snapshot = new Snapshot();
+        demo.writeSnapshot(snapshot, TimeUtils.nanoTime(), 0, 0);
+        view = new SceneView(gsm.getAssets());
+        view.setQuality(gsm.getQuality());
+        gsm.buildAutopilot();
+
+        Leaderboard leaderboard = gsm.getRuns().getLeaderboard();
+        if(leaderboard.getRuns() > 0){
+            font = sprites.newFont(); // from the atlas, so the line does not switch textures
+            best = "Best " + leaderboard.getBestScore() + " of " + leaderboard.getRuns() + " runs";
+        }
 
     }
 
     /**
-     * if the screen is touched, the game will start
+     * if the screen was touched, the game will start. the tap that starts the game is used up
+     * here so it does not also make the bird jump
      */
     @Override
     public void handleInput() {
-        if(Gdx.input.justTouched()){
+        if(gsm.getInput().hasTap() || (gsm.isAutoplay() && gsm.getAutopilot() != null) || gsm.getScript() != null){
+            gsm.getInput().clear();
             gsm.set(new PlayState(gsm));
         }
     }
 
     /**
-     * what happens on each frame is to simply detect if the screen is touched
+     * steps the demo run once the autopilot is ready, starting a new one when it dies, touches
+     * are handled by handleInput once per frame
      * @param dlt delta time as a float
      */
     @Override
     public void update(float dlt) {
-        handleInput();
+        Autopilot autopilot = gsm.getAutopilot();
+        if(autopilot == null){
+            return;
+        }
+        if(autopilot.shouldJump(demo)){
+            demo.jump();
+        }
+        if(!demo.step()){
+            demo.reset(MathUtils.random.nextLong());
+        }
+        demo.writeSnapshot(snapshot, gsm.getTickTime(), 0, 0);
     }
 
     /**
-     * renders everything on screen, simply the camera position, background and play button
+     * renders everything on screen, the demo run with the play button over it
      * @param sb the SpriteBach all images to be used
+     * @param alpha how far between two ticks the frame is
      */
     @Override
-    public void render(SpriteBatch sb) {
-        sb.setProjectionMatrix(cam.combined);
+    public void render(SpriteBatch sb, float alpha) {
         sb.begin();
-        sb.draw(background, 0, 0);
-        sb.draw(playButton, cam.position.x - playButton.getWidth()/2, cam.position.y);
+        view.draw(sb, cam, snapshot, alpha);
+        sb.draw(playButton, cam.position.x - playButton.getRegionWidth()/2, cam.position.y);
+        if(best != null){
+            font.draw(sb, best, cam.position.x - playButton.getRegionWidth()/2, cam.position.y - 10);
+        }
         sb.end();
     }
 
     /**
-     * deletes al images to prevent memory leak
+     * gives back the sprite atlas and masks to the asset cache to prevent memory leak
      */
     @Override
     public void dispose() {
-        background.dispose();
-        playButton.dispose();
+        view.dispose();
+        if(font != null){
+            font.dispose();
+        }
+        gsm.getAssets().release(AssetCache.MASKS);
+        gsm.getAssets().release(AssetCache.SPRITES);
         System.out.println("Menu State disposed");
     }
 }
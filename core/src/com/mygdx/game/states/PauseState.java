@@ -0,0 +1,89 @@
+package com.mygdx.game.states;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.mygdx.game.FlappyGame;
+import com.mygdx.game.assets.AssetCache;
+
+/**
+ * shows the play button over the frozen game until the player taps (or presses escape or P)
+ *
+ * the game under it is not drawn again, the GameStateManager keeps its last frame in a texture,
+ * and nothing here moves so no frames are drawn at all until there is input
+ */
+public class PauseState extends State {
+
+    private final TextureRegion playButton;
+
+    /**
+     * constructor method
+     * @param gsm GameStateManager
+     */
+    public PauseState(GameStateManager gsm) {
+        super(gsm);
+        cam.setToOrtho(false, FlappyGame.WIDTH / 2, FlappyGame.HEIGHT / 2);
+        playButton = gsm.getAssets().sprites().findRegion("playbtn");
+    }
+
+    /**
+     * goes back to the game on a tap, the tap is used up so it does not also make the bird jump
+     */
+    @Override
+    protected void handleInput() {
+        if(gsm.getInput().hasTap() || isPauseKeyPressed()){
+            gsm.getInput().clear();
+            gsm.pop();
+        }
+    }
+
+    /**
+     * gets if a key that pauses or goes on with the game was pressed this frame
+     * @return boolean true if escape or P was pressed
+     */
+    static boolean isPauseKeyPressed() {
+        return Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE) || Gdx.input.isKeyJustPressed(Input.Keys.P);
+    }
+
+    /**
+     * nothing moves while paused
+     * @param dlt delta time as a float
+     */
+    @Override
+    public void update(float dlt) {
+    }
+
+    /**
+     * draws the play button in the middle of the screen, over the frozen game
+     * @param sb the SpriteBatch to draw with
+     * @param alpha not used, nothing moves
+     */
+    @Override
+    public void render(SpriteBatch sb, float alpha) {
+        sb.setProjectionMatrix(cam.combined);
+        sb.begin();
+        sb.draw(playButton, (cam.viewportWidth - playButton.getRegionWidth()) / 2,
+                (cam.viewportHeight - playButton.getRegionHeight()) / 2);
+        sb.end();
+    }
+
+    @Override
+    public boolean isOpaque() {
+        return false;
+    }
+
+    @Override
+    public boolean isAnimated() {
+        return false;
+    }
+
+    /**
+     * gives back the sprite atlas to the asset cache
+     */
+    @Override
+    public void dispose() {
+        gsm.getAssets().release(AssetCache.SPRITES);
+        System.out.println("Pause State disposed");
+    }
+}
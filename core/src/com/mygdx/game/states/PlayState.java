@@ -1,30 +1,50 @@
 package com.mygdx.game.states;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.mygdx.game.FlappyGame;
-
-import sprites.Bird;
-import sprites.Tube;
+import com.mygdx.game.assets.AssetCache;
+import com.mygdx.game.input.InputQueue;
+import com.mygdx.game.replay.ReplayScript;
+import com.mygdx.game.sim.Autopilot;
+import com.mygdx.game.sim.Simulation;
+import com.mygdx.game.sim.Snapshot;
+import com.mygdx.game.sim.Sweep;
+import com.mygdx.game.stats.RunStore;
 
 /**
  * the play state for when the game starts, inherets from th state class
+ *
+ * the bird, tubes, ground, collisions and score all live in a Simulation, this state only steps
+ * it, draws it and plays its sounds. every tick is copied into a Snapshot and only snapshots are
+ * drawn, so the simulation can also be stepped on its own thread (GameStateManager
+ * .setSimulationThread) with the render thread drawing the latest snapshot it published
+ *
+ * the tube layout is made ahead of the camera on a background thread of the simulation's
+ * ObstacleBuffer, so the simulation only ever reads it
+ *
+ * with autoplay on (GameStateManager.setAutoplay) the Autopilot jumps instead of the player, the
+ * jumps are recorded like taps so the runs still replay. with a script set (GameStateManager
+ * .setScript) the seeds and jumps of recorded runs are played instead, for benchmarks
+ *
+ * with ghosts set (GameStateManager.setGhosts) the runs of the last session fly along with the
+ * bird, they are moved on the render thread to whatever tick is drawn
  */
 public class PlayState extends State{
 
-    private static final int TUBESPACING = 125;
-    private static final int TUBECOUNT = 4;
-    private static final int GROUNDYOFFSET = -30;
+    private static final int FLAP_VOICES = 2; // flaps that can be heard at once, a third stops the oldest
+    private static final float FLAP_SECONDS = 0.32f; // length of sfx_wing.ogg
 
-    private Bird bird;
-    private Texture bg;
-    private Texture ground;
-    private Vector2 groundPos1, groundPos2;
+    private Simulation sim; // the physics of the run
+    private Snapshot snapshot; // the last tick when the simulation is stepped on this thread
+    private SimulationThread simThread; // steps the simulation when it has its own thread, otherwise null
+    private int jumps; // jumps and runs so far when the simulation is stepped on this thread
+    private int run;
+    private int shownJumps; // jumps of the last snapshot drawn, to know when to flap
 
-    private Array<Tube> tubes; // tubes are in an array so that there can be multiple tubes on screen at once
+    private SceneView view; // the bird, tubes, ground and background
+    private int flap; // the flap sound effect of the audio service
 
     /**
      * the constructor for the class
@@ -33,133 +53,226 @@ public class PlayState extends State{
     public PlayState(GameStateManager gsm) {
         super(gsm); // as in the super class, places the gsm into the state
 
-        //set up the birds location, background and camera location
-        bird = new Bird(50,300);
+        //set up the run with a new seed, background and camera location
+        sim = new Simulation(nextSeed(), gsm.getAssets().masks()); // collides on the pixels of the sprites
+        sim.getObstacles().startBackground();
+        gsm.getRecorder().startRun(sim.getSeed());
         cam.setToOrtho(false, FlappyGame.WIDTH /2, FlappyGame.HEIGHT/2);
-        bg = new Texture("bg.png");
+        view = new SceneView(gsm.getAssets());
+        view.setGhosts(gsm.getGhosts());
+        view.setQuality(gsm.getQuality());
+        flap = gsm.getAudio().load(FlappyGame.FLAP_SOUND, FLAP_VOICES, FLAP_SECONDS);
+
+        if(gsm.isSimulationThread()){
+            startThread();
+        } else {
+            sim.setProfiler(gsm.getProfiler());
+            snapshot = new Snapshot();
+            sim.writeSnapshot(snapshot, TimeUtils.nanoTime(), jumps, run);
+        }
+    }
 
-        //places 2 grounds that move to give illusion of movement
-        ground = new Texture("ground.png");
-        groundPos1 = new Vector2(cam.position.x - cam.viewportWidth / 2,GROUNDYOFFSET);
-        groundPos2 = new Vector2((cam.position.x - cam.viewportWidth / 2) + ground.getWidth(), GROUNDYOFFSET);
+    /**
+     * starts a new run in this same state, reusing the simulation, bird, tubes and camera instead
+     * of making them all again, so a restart allocates nothing (when the simulation has its own
+     * thread, the thread starts new runs by itself and is only made again here)
+     */
+    @Override
+    public void reset() {
+        if(simThread != null){
+            simThread.stop();
+        }
+        sim.reset(nextSeed());
+        gsm.getRecorder().startRun(sim.getSeed());
 
-        // makes 4 tubes and places them at a distance with their set spacing
-        tubes = new Array<Tube>();
-        for(int i = 1; i <= TUBECOUNT; i++){
-            tubes.add(new Tube(i * (TUBESPACING + Tube.TUBEWIDTH)));
+        if(simThread != null){
+            startThread();
+        } else {
+            run++;
+            sim.writeSnapshot(snapshot, TimeUtils.nanoTime(), jumps, run);
         }
     }
 
     /**
-     * what occurs when a touch is detected on the screen, the bird jumps
+     * taps are not read once per frame here, they are taken from the input queue on the tick they
+     * happened in (see update). escape or P puts a PauseState over the game
      */
     @Override
     protected void handleInput() {
-        if(Gdx.input.justTouched()){
-            bird.jump();
+        if(PauseState.isPauseKeyPressed()){
+            gsm.push(new PauseState(gsm));
         }
     }
 
     /**
-     * what happens on every frame, takes in the current time as well
+     * what happens on every tick, takes in the fixed tick length as well
      *
-     * the following happens on every frame:
-     * 1. detects if the bird should jump
-     * 2. moves the ground
-     * 3. update the birds position
-     * 4. updates the cameras position
-     * 5. places the tubes on screen, and updates their position if they go off screen
-     * 6. detects collision between bird and the tubes as well as the gtound
+     * the following happens on every tick:
+     * 1. the bird jumps for every tap that happened before the end of this tick (or when the
+     *    autopilot or script says so)
+     * 2. moves the simulation forward (bird and its animation, tubes, ground, collisions)
+     * 3. starts a new run if the bird hit a tube or the ground
      *
+     * when the simulation has its own thread nothing happens here
      * @param dlt delta time as a float
      */
     @Override
     public void update(float dlt) {
-
-        //input handling and position managing
-        handleInput();
-        updateGround();
-        bird.update(dlt);
-        cam.position.x = bird.getPosition().x + 80;
-
-        // places the tubes on screen and detects if the bird has collided with it
-        for(Tube tube: tubes){
-
-            if(cam.position.x - (cam.viewportWidth/2) > tube.getPosTopTube().x + tube.getTopTube().getWidth()){
-                tube.reposition(tube.getPosTopTube().x + ((Tube.TUBEWIDTH + TUBESPACING) * TUBECOUNT));
-            }
-
-            if(tube.collides(bird.getHitBox())){
-                gsm.set(new PlayState(gsm));
-                break;
-            }
+        if(simThread != null){
+            return;
         }
 
-        // ground collision detection
-        if(bird.getPosition().y <= ground.getHeight() + GROUNDYOFFSET){
-            gsm.set(new PlayState(gsm));
+        applyTaps();
+        Autopilot autopilot = gsm.getAutoplayPilot();
+        if(autopilot != null && autopilot.shouldJump(sim)){
+            jump();
         }
+        ReplayScript script = gsm.getScript();
+        while(script != null && script.jumpsOn(sim.getTick() + 1)){
+            jump();
+        }
+        boolean alive = sim.step();
 
-        // updates the cameras position
-        cam.update();
+        if(!alive){
+            gsm.getRecorder().endRun(sim.getTick(), sim.getScore());
+            gsm.getRuns().record(sim.getSeed(), sim.getScore(), sim.getTick(), deathCause(sim));
+            gsm.restart();
+            return;
+        }
+        sim.writeSnapshot(snapshot, gsm.getTickTime(), jumps, run);
     }
 
 
     /**
      * takes in a sprite batch and renders everything on screen
+     *
+     * everything is drawn from the one sprite atlas texture so the whole frame is a single flush
      * @param sb SpriteBatch all images and animations to be used
+     * @param alpha how far the frame is between the previous and current tick (0 to 1), worked out
+     *              from the time of the snapshot instead when the simulation has its own thread
      */
     @Override
-    public void render(SpriteBatch sb) {
-        sb.setProjectionMatrix(cam.combined); // moves the camera
+    public void render(SpriteBatch sb, float alpha) {
+        Snapshot shown = snapshot;
+        if(simThread != null){
+            shown = simThread.getSnapshots().latest();
+            alpha = MathUtils.clamp((TimeUtils.nanoTime() - shown.getTime()) / (GameStateManager.STEP * 1000000000f), 0, 1);
+            long tap = simThread.takeAppliedTap();
+            if(tap >= 0){
+                gsm.getLatency().jumpApplied(tap);
+            }
+        }
+        playSounds(shown);
 
-        // start to draw all the images on screen like the background, bird
         sb.begin();
-        sb.draw(bg, cam.position.x - (cam.viewportWidth / 2), 0);
-        sb.draw(bird.getTexture(),bird.getPosition().x,bird.getPosition().y);
+        view.draw(sb, cam, shown, alpha);
+        sb.end();
+    }
 
-        //places each tube made from the tubes array
-        for(Tube tube : tubes) {
-            sb.draw(tube.getTopTube(), tube.getPosTopTube().x, tube.getPosTopTube().y);
-            sb.draw(tube.getBottomTube(), tube.getPosBotTube().x, tube.getPosBotTube().y);
+    /**
+     * the game goes into the background with a PauseState over it
+     * @return boolean true
+     */
+    @Override
+    public boolean isPausable() {
+        return true;
+    }
+
+    /**
+     * stops the simulation thread while the game is in the background or paused
+     */
+    @Override
+    public void pause() {
+        if(simThread != null){
+            simThread.stop();
         }
+    }
 
-        //place the ground
-        sb.draw(ground, groundPos1.x, groundPos1.y);
-        sb.draw(ground, groundPos2.x, groundPos2.y);
-        sb.end();
+    /**
+     * starts the simulation thread again
+     */
+    @Override
+    public void resume() {
+        if(simThread != null){
+            simThread.start();
+        }
     }
 
     /**
-     * disposes all the images made to prevent memory leak
+     * gives back the sprite atlas and masks to the asset cache to prevent memory leak
      */
     @Override
     public void dispose() {
-        bg.dispose();
-        bird.dispose();
-        ground.dispose();
-
-        //must delete each tube in the array one by one
-        for(Tube tube : tubes){
-            tube.dispose();
+        if(simThread != null){
+            simThread.stop();
         }
+        sim.getObstacles().stopBackground();
+        gsm.getAssets().release(AssetCache.MASKS);
+        view.dispose();
 
         System.out.println("Play State Disposed");
     }
 
     /**
-     * moves the ground once it has went off screen
+     * hands the simulation to a new thread, from here on only snapshots of it are read
+     * (the frame profiler is not given to the thread, it is only used from the render thread)
      */
-    private void updateGround(){
+    private void startThread(){
+        sim.setProfiler(null);
+        simThread = new SimulationThread(sim, gsm.getInput(), gsm.getRecorder(), gsm.getRuns(),
+                gsm.getAutoplayPilot(), MathUtils.random.nextLong());
+        shownJumps = 0;
+        simThread.start();
+    }
 
-        //move first ground if off screen
-        if(cam.position.x - (cam.viewportWidth/2) > groundPos1.x + ground.getWidth()){
-            groundPos1.add(ground.getWidth() * 2, 0);
+    /**
+     * makes the bird jump once for every queued tap that happened before the end of this tick,
+     * the jump is recorded for the next tick since that is the tick the simulation runs it on
+     */
+    private void applyTaps(){
+        InputQueue input = gsm.getInput();
+        long tickTime = gsm.getTickTime();
+        while(input.hasTapBefore(tickTime)){
+            gsm.getLatency().jumpApplied(input.poll());
+            jump();
         }
+    }
 
-        //move second ground if off screen
-        if(cam.position.x - (cam.viewportWidth/2) > groundPos2.x + ground.getWidth()){
-            groundPos2.add(ground.getWidth() * 2, 0);
+    /**
+     * the seed of the next run, the script's when there is one
+     * @return the seed as a long
+     */
+    private long nextSeed(){
+        ReplayScript script = gsm.getScript();
+        return script != null ? script.nextRun() : MathUtils.random.nextLong();
+    }
+
+    /**
+     * what the bird of a finished run died on
+     * @param sim the Simulation of the run
+     * @return RunStore.DIED_ON_TUBE or DIED_ON_GROUND
+     */
+    static int deathCause(Simulation sim){
+        return sim.getImpactTime() != Sweep.MISS ? RunStore.DIED_ON_TUBE : RunStore.DIED_ON_GROUND;
+    }
+
+    /**
+     * makes the bird jump and records it
+     */
+    private void jump(){
+        gsm.getRecorder().jump(sim.getTick() + 1);
+        sim.jump();
+        jumps++;
+    }
+
+    /**
+     * flaps for every jump since the last snapshot drawn
+     * @param shown the Snapshot about to be drawn
+     */
+    private void playSounds(Snapshot shown){
+        if(shown.getJumps() != shownJumps){
+            shownJumps = shown.getJumps();
+            gsm.getAudio().play(flap, .5f);
         }
     }
 
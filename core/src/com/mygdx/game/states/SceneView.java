@@ -0,0 +1,189 @@
+package com.mygdx.game.states;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.mygdx.game.FlappyGame;
+import com.mygdx.game.assets.AssetCache;
+import com.mygdx.game.assets.SpriteAtlas;
+import com.mygdx.game.profiling.QualityGovernor;
+import com.mygdx.game.sim.Actors;
+import com.mygdx.game.sim.BirdBody;
+import com.mygdx.game.sim.GhostRace;
+import com.mygdx.game.sim.Simulation;
+import com.mygdx.game.sim.Snapshot;
+import com.mygdx.game.sim.TubeBody;
+
+import sprites.Bird;
+import sprites.ParallaxLayer;
+import sprites.Tube;
+
+/**
+ * draws one tick of a simulation: the background, bird, tubes and ground, shared by the play
+ * state and the bot flying behind the menu
+ *
+ * every actor of the snapshot is drawn by what its sprite is, from one Bird and one Tube for all
+ * of them, and the ones outside the camera are skipped. birds are drawn between where they were on
+ * the last two ticks, tubes where they are
+ *
+ * it only draws into a batch that has already begun, so the state can put its own images on top
+ * in the same flush
+ *
+ * ghosts of earlier runs (see GhostRace) are drawn faded behind the bird from the same animation
+ * frames as the bird, so a thousand ghosts cost no more textures or animations than one bird, and
+ * ghosts outside the camera are not drawn at all
+ *
+ * with a QualityGovernor set, the far layers are left out (the screen is cleared to the colour of
+ * their sky instead) and only a share of the ghosts is drawn when it says so
+ */
+class SceneView {
+
+    private static final float GHOST_ALPHA = 0.35f;
+    private static final float BG_SPEED = 0.2f; // the background scrolls at a fifth of the ground
+    private static final Color SKY = new Color(0x4ec0caff); // the top of bg.png
+
+    private final AssetCache assets;
+    private final Bird bird;
+    private final Array<ParallaxLayer> far; // layers behind the bird and tubes, furthest first
+    private final ParallaxLayer ground; // in front of the tubes, moves with the world
+    private final Tube tube; // the images of every tube
+    private GhostRace ghosts; // earlier runs flown along with the bird, null for none
+    private int ghostRun = -1; // the run of the snapshot the ghosts were last moved to
+    private QualityGovernor quality; // how much to draw, null for everything
+
+    /**
+     * gets the images to draw simulations with
+     * @param assets the AssetCache the sprite atlas is borrowed from
+     */
+    SceneView(AssetCache assets) {
+        this.assets = assets;
+        bird = new Bird(assets);
+        tube = new Tube(assets);
+        SpriteAtlas sprites = assets.sprites();
+        // bg and ground are in the same sprite atlas as the bird and tubes, repeated as far as the camera goes
+        far = new Array<ParallaxLayer>();
+        far.add(new ParallaxLayer(sprites.findRegion("bg"), BG_SPEED, 0));
+        ground = new ParallaxLayer(sprites.findRegion("ground"), 1, Simulation.GROUND_Y_OFFSET);
+    }
+
+    /**
+     * moves the camera to follow the bird and draws everything of a snapshot
+     *
+     * the bird (and the camera following it) is drawn between where it was on the last two ticks
+     * so the movement stays smooth even when the frame rate and tick rate do not line up
+     * @param sb the SpriteBatch to draw with, between begin and end
+     * @param cam the camera of the state, moved along with the bird
+     * @param shown the Snapshot to draw
+     * @param alpha how far the frame is between the previous and current tick (0 to 1)
+     */
+    void draw(SpriteBatch sb, OrthographicCamera cam, Snapshot shown, float alpha) {
+        float birdX = MathUtils.lerp(shown.getPreviousBirdX(), shown.getBirdX(), alpha);
+        float birdY = MathUtils.lerp(shown.getPreviousBirdY(), shown.getBirdY(), alpha);
+        cam.position.x = birdX + Simulation.CAMERA_OFFSET;
+        cam.update();
+        sb.setProjectionMatrix(cam.combined); // moves the camera
+
+        float left = cam.position.x - cam.viewportWidth / 2;
+        if(quality == null || quality.isFarLayers()){
+            for(int i = 0; i < far.size; i++){
+                far.get(i).draw(sb, left, cam.viewportWidth);
+            }
+        } else {
+            // nothing is flushed yet, the scene is the first thing in the batch
+            Gdx.gl.glClearColor(SKY.r, SKY.g, SKY.b, SKY.a);
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+            Color background = FlappyGame.BACKGROUND;
+            Gdx.gl.glClearColor(background.r, background.g, background.b, background.a);
+        }
+        if(ghosts != null){
+            drawGhosts(sb, cam, shown, alpha);
+        }
+        drawActors(sb, left, left + cam.viewportWidth, shown, alpha);
+
+        //place the ground
+        ground.draw(sb, left, cam.viewportWidth);
+    }
+
+    /**
+     * draws every actor of the snapshot that is between the left and right of the camera
+     */
+    private void drawActors(SpriteBatch sb, float left, float right, Snapshot shown, float alpha) {
+        TextureRegion frame = bird.getTexture(shown.getBirdFrame());
+        for(int i = 0; i < shown.getSprites(); i++){
+            float x = shown.getX(i);
+            if(shown.getSprite(i) == Actors.SPRITE_BIRD){
+                x = MathUtils.lerp(shown.getPreviousX(i), x, alpha);
+                if(x + BirdBody.WIDTH >= left && x <= right){
+                    sb.draw(frame, x, MathUtils.lerp(shown.getPreviousY(i), shown.getY(i), alpha));
+                }
+            } else if(x + TubeBody.WIDTH >= left && x <= right){
+                sb.draw(tube.getTopTube(), x, shown.getY(i));
+                sb.draw(tube.getBottomTube(), x, shown.getBottomY(i));
+            }
+        }
+    }
+
+    /**
+     * moves the ghosts to the tick of the snapshot (back to the start on a new run) and draws the
+     * ones the camera can see, with the frame the bird shows
+     */
+    private void drawGhosts(SpriteBatch sb, OrthographicCamera cam, Snapshot shown, float alpha) {
+        if(shown.getRun() != ghostRun){
+            ghostRun = shown.getRun();
+            ghosts.reset();
+        }
+        ghosts.advanceTo(shown.getTick());
+
+        float left = cam.position.x - cam.viewportWidth / 2 - BirdBody.WIDTH;
+        float right = cam.position.x + cam.viewportWidth / 2;
+        float bottom = cam.position.y - cam.viewportHeight / 2 - BirdBody.HEIGHT;
+        float top = cam.position.y + cam.viewportHeight / 2;
+        TextureRegion frame = bird.getTexture(shown.getBirdFrame());
+        int drawn = quality == null ? ghosts.getGhosts() : (int) (ghosts.getGhosts() * quality.getGhostShare());
+        sb.setColor(1, 1, 1, GHOST_ALPHA);
+        for(int i = 0; i < drawn; i++){
+            float x = ghosts.getX(i, alpha);
+            float y = ghosts.getY(i, alpha);
+            if(x < left || x > right || y < bottom || y > top){
+                continue;
+            }
+            sb.draw(frame, x, y);
+        }
+        sb.setColor(Color.WHITE);
+    }
+
+    /**
+     * races the bird against earlier runs
+     * @param ghosts the GhostRace of the runs, null to draw no ghosts
+     */
+    void setGhosts(GhostRace ghosts) {
+        this.ghosts = ghosts;
+        ghostRun = -1;
+    }
+
+    /**
+     * lets a governor decide how much of the scene is drawn
+     * @param quality the QualityGovernor, null to always draw everything
+     */
+    void setQuality(QualityGovernor quality) {
+        this.quality = quality;
+    }
+
+    public Bird getBird() {
+        return bird;
+    }
+
+    /**
+     * gives the sprite atlas back to the asset cache, for the view and its bird and tube
+     */
+    void dispose() {
+        assets.release(AssetCache.SPRITES);
+        bird.dispose();
+        tube.dispose();
+    }
+}
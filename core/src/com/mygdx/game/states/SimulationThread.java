@@ -0,0 +1,166 @@
+package com.mygdx.game.states;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.game.input.InputQueue;
+import com.mygdx.game.replay.ReplayRecorder;
+import com.mygdx.game.sim.Autopilot;
+import com.mygdx.game.sim.Simulation;
+import com.mygdx.game.sim.SnapshotBuffer;
+import com.mygdx.game.stats.RunStore;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * steps a play state's simulation on its own thread at a fixed STEP, so a slow tick never
+ * holds up a frame and a slow frame never holds up the physics
+ *
+ * the thread owns the simulation, the replay recorder and the run store while it runs. it takes taps from the
+ * input queue (it is the queue's only reader), starts a new run when the bird dies, and publishes
+ * a snapshot of every tick to a SnapshotBuffer the render thread draws from. nothing is shared
+ * through locks, and a tick allocates nothing
+ */
+class SimulationThread implements Runnable {
+
+    private static final long STEP_NANOS = (long) (Simulation.STEP * 1000000000L);
+    private static final int MAX_STEPS = 5; // ticks it catches up before dropping time, like the GameStateManager
+
+    private final Simulation sim;
+    private final InputQueue input;
+    private final ReplayRecorder recorder;
+    private final RunStore runs;
+    private final Autopilot autopilot; // jumps instead of the player, null when not on autoplay
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+    private final RandomXS128 seeds; // seeds of the next runs, MathUtils.random belongs to the render thread
+    private final AtomicLong appliedTap = new AtomicLong(-1); // oldest tap shown in a published snapshot, for the latency tracker
+
+    private volatile boolean running;
+    private Thread thread;
+    private int jumps;
+    private int run;
+
+    /**
+     * constructor method, the thread is not started yet
+     * @param sim the Simulation to step, already started on its first run
+     * @param input the InputQueue to take taps from
+     * @param recorder the ReplayRecorder the runs are recorded to
+     * @param runs the RunStore every finished run is kept in
+     * @param autopilot the Autopilot that jumps instead of the player, null to only jump on taps
+     * @param seed the seed of the seeds of the next runs as a long
+     */
+    SimulationThread(Simulation sim, InputQueue input, ReplayRecorder recorder, RunStore runs, Autopilot autopilot,
+                     long seed) {
+        this.sim = sim;
+        this.input = input;
+        this.recorder = recorder;
+        this.runs = runs;
+        this.autopilot = autopilot;
+        seeds = new RandomXS128(seed);
+        sim.writeSnapshot(snapshots.back(), TimeUtils.nanoTime(), jumps, run);
+        snapshots.publish();
+    }
+
+    /**
+     * starts stepping, the first tick is one STEP from now
+     */
+    void start() {
+        running = true;
+        thread = new Thread(this, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * stops stepping and waits for the tick being run to finish, after this the simulation and
+     * recorder and run store can be used from the calling thread again
+     */
+    void stop() {
+        if(thread == null){
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public void run() {
+        long next = TimeUtils.nanoTime() + STEP_NANOS;
+        while(running){
+            long now = TimeUtils.nanoTime();
+            if(now < next){
+                LockSupport.parkNanos(next - now);
+                continue;
+            }
+            if(now - next > STEP_NANOS * MAX_STEPS){
+                next = now; // too far behind (the app was paused or the cpu was busy), drop the time
+            }
+            tick(next);
+            next += STEP_NANOS;
+        }
+    }
+
+    /**
+     * runs one tick: the jumps of every tap up to its time (and of the autopilot), the step, and a
+     * restart if the bird died
+     * @param tickTime the wall clock time the tick is for (System.nanoTime) as a long
+     */
+    private void tick(long tickTime) {
+        long firstTap = -1;
+        while(input.hasTapBefore(tickTime)){
+            long tap = input.poll();
+            if(firstTap < 0){
+                firstTap = tap;
+            }
+            jump();
+        }
+        if(autopilot != null && autopilot.shouldJump(sim)){
+            jump();
+        }
+
+        if(!sim.step()){
+            recorder.endRun(sim.getTick(), sim.getScore());
+            runs.record(sim.getSeed(), sim.getScore(), sim.getTick(), PlayState.deathCause(sim));
+            sim.reset(seeds.nextLong());
+            recorder.startRun(sim.getSeed());
+            run++;
+        }
+
+        sim.writeSnapshot(snapshots.back(), tickTime, jumps, run);
+        snapshots.publish();
+        if(firstTap >= 0){
+            appliedTap.compareAndSet(-1, firstTap);
+        }
+    }
+
+    /**
+     * makes the bird jump and records it for the next tick
+     */
+    private void jump() {
+        recorder.jump(sim.getTick() + 1);
+        sim.jump();
+        jumps++;
+    }
+
+    /**
+     * gets the snapshots, only the render thread may read them
+     * @return the SnapshotBuffer every tick is published to
+     */
+    SnapshotBuffer getSnapshots() {
+        return snapshots;
+    }
+
+    /**
+     * takes the time of the oldest tap whose jump has been published since the last call
+     * @return the time of the tap (System.nanoTime) as a long, -1 if there was none
+     */
+    long takeAppliedTap() {
+        return appliedTap.getAndSet(-1);
+    }
+}
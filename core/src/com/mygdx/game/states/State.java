@@ -24,7 +24,54 @@ public abstract class State {
     }
 
     protected abstract void handleInput(); // what occurs once an input is detected
-    public abstract void update(float dlt); // takes in a delta time which is the differnce between each frame rendered
-    public abstract void render(SpriteBatch sb); // all textures needed to be rendered into the screen
+    public abstract void update(float dlt); // takes in a delta time, always one fixed tick (GameStateManager.STEP)
+    public abstract void render(SpriteBatch sb, float alpha); // all textures needed to be rendered into the screen, alpha is how far (0 to 1) the frame is between the last two ticks
     public abstract void dispose(); // gets rid of everything once the game is over
+
+    /**
+     * puts the state back to how it was when it was made, so it can be used again instead of
+     * being disposed and made again. states that can not be reused do nothing here
+     */
+    public void reset(){
+    }
+
+    /**
+     * whether the state covers the whole screen, the states under one that does not are shown
+     * frozen behind it (see GameStateManager.render)
+     * @return boolean true if nothing under the state can be seen
+     */
+    public boolean isOpaque(){
+        return true;
+    }
+
+    /**
+     * whether the state changes on its own while nobody touches the screen, while the state on top
+     * does not the game only draws a frame when there is input
+     * @return boolean true if it has to be drawn every frame
+     */
+    public boolean isAnimated(){
+        return true;
+    }
+
+    /**
+     * whether a PauseState is put over the state when the game goes into the background, instead
+     * of only telling it with pause
+     * @return boolean true if the state can be paused by the player
+     */
+    public boolean isPausable(){
+        return false;
+    }
+
+    /**
+     * called when the game goes into the background or another state is pushed over this one,
+     * states with their own threads stop them here
+     */
+    public void pause(){
+    }
+
+    /**
+     * called when the game comes back from the background or the state over this one was popped
+     */
+    public void resume(){
+    }
 }
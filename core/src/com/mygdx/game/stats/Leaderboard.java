@@ -0,0 +1,177 @@
+package com.mygdx.game.stats;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * the best runs ever played and a count of all of them, kept up to date one run at a time so
+ * nothing ever has to look through every run
+ *
+ * it is a few fixed arrays sorted from best to worst, adding a run moves at most SIZE entries and
+ * allocates nothing
+ */
+public class Leaderboard {
+
+    public static final int SIZE = 10;
+    private static final int MAGIC = 0x4642544E; // "FBTN"
+    private static final int VERSION = 1;
+
+    private final long[] seed = new long[SIZE];
+    private final int[] score = new int[SIZE];
+    private final int[] ticks = new int[SIZE];
+    private int size;
+    private long runs;
+    private long totalTicks;
+    private long covered; // how many records of the run log are counted in here
+
+    /**
+     * counts a run, and keeps it if it is one of the best (the older run stays ahead on a tie)
+     * @param seed the seed of the run as a long
+     * @param score the score of the run as an int
+     * @param ticks how many ticks the run lasted as an int
+     */
+    public void add(long seed, int score, int ticks) {
+        runs++;
+        totalTicks += ticks;
+        covered++;
+
+        int at = size;
+        while(at > 0 && score > this.score[at - 1]){
+            at--;
+        }
+        if(at == SIZE){
+            return; // not good enough
+        }
+        int last = Math.min(size, SIZE - 1);
+        for(int i = last; i > at; i--){
+            this.seed[i] = this.seed[i - 1];
+            this.score[i] = this.score[i - 1];
+            this.ticks[i] = this.ticks[i - 1];
+        }
+        this.seed[at] = seed;
+        this.score[at] = score;
+        this.ticks[at] = ticks;
+        if(size < SIZE){
+            size++;
+        }
+    }
+
+    /**
+     * makes this the same as another leaderboard
+     * @param other the Leaderboard to copy
+     */
+    public void set(Leaderboard other) {
+        System.arraycopy(other.seed, 0, seed, 0, SIZE);
+        System.arraycopy(other.score, 0, score, 0, SIZE);
+        System.arraycopy(other.ticks, 0, ticks, 0, SIZE);
+        size = other.size;
+        runs = other.runs;
+        totalTicks = other.totalTicks;
+        covered = other.covered;
+    }
+
+    /**
+     * forgets every run
+     */
+    public void clear() {
+        size = 0;
+        runs = 0;
+        totalTicks = 0;
+        covered = 0;
+    }
+
+    /**
+     * writes the leaderboard to a file
+     * @param out the stream to write to
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(covered);
+        out.writeLong(runs);
+        out.writeLong(totalTicks);
+        out.writeInt(size);
+        for(int i = 0; i < size; i++){
+            out.writeLong(seed[i]);
+            out.writeInt(score[i]);
+            out.writeInt(ticks[i]);
+        }
+    }
+
+    /**
+     * reads a leaderboard written by write over this one
+     * @param in the stream to read from
+     * @throws IOException if it is not a leaderboard of this version
+     */
+    public void read(DataInputStream in) throws IOException {
+        if(in.readInt() != MAGIC || in.readInt() != VERSION){
+            throw new IOException("not a leaderboard");
+        }
+        covered = in.readLong();
+        runs = in.readLong();
+        totalTicks = in.readLong();
+        size = in.readInt();
+        if(size < 0 || size > SIZE){
+            throw new IOException("leaderboard has " + size + " runs");
+        }
+        for(int i = 0; i < size; i++){
+            seed[i] = in.readLong();
+            score[i] = in.readInt();
+            ticks[i] = in.readInt();
+        }
+    }
+
+    /**
+     * gets the best score ever
+     * @return the score as an int, 0 if no run was played yet
+     */
+    public int getBestScore() {
+        return size > 0 ? score[0] : 0;
+    }
+
+    /**
+     * gets the score of a place on the leaderboard
+     * @param place the place, 0 is the best, must be below getSize
+     * @return the score as an int
+     */
+    public int getScore(int place) {
+        return score[place];
+    }
+
+    public int getTicks(int place) {
+        return ticks[place];
+    }
+
+    public long getSeed(int place) {
+        return seed[place];
+    }
+
+    /**
+     * gets how many places are filled
+     * @return the number of runs on the leaderboard as an int, at most SIZE
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * gets how many runs were ever played
+     * @return the number of runs as a long
+     */
+    public long getRuns() {
+        return runs;
+    }
+
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * gets how many records of the run log this was made from
+     * @return the number of records as a long
+     */
+    public long getCovered() {
+        return covered;
+    }
+}
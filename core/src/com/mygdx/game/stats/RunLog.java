@@ -0,0 +1,120 @@
+package com.mygdx.game.stats;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * every run ever played, one fixed size record after another in a file that is only appended to
+ *
+ * the file is memory-mapped a region at a time, so appending a record is a few writes into memory
+ * that the os saves to the file by itself, with no system call. the number of records is kept in
+ * the header and written after the record, the end of the file past it is only space mapped ahead
+ *
+ * a record is: the seed (8 bytes), the score, the ticks the run lasted and how the bird died (4 each)
+ */
+public class RunLog {
+
+    private static final int MAGIC = 0x4642524C; // "FBRL"
+    private static final int VERSION = 1;
+    private static final int HEADER = 16; // magic, version, number of records
+    private static final int COUNT = 8; // where the number of records is in the header
+    public static final int RECORD = 20;
+    private static final int REGION = RECORD * 4096; // how much of the file is mapped at once
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private MappedByteBuffer region; // the part of the file records are appended to, null until the first
+    private long regionStart;
+    private long count;
+
+    /**
+     * opens a log, making it if there is no file yet
+     * @param path the file of the log
+     * @throws IOException if the file can not be opened or is not a run log
+     */
+    public RunLog(File path) throws IOException {
+        boolean made = !path.exists() || path.length() == 0;
+        file = new RandomAccessFile(path, "rw");
+        channel = file.getChannel();
+        try {
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER);
+            if(made){
+                header.putInt(0, MAGIC);
+                header.putInt(4, VERSION);
+                header.putLong(COUNT, 0);
+            } else if(header.getInt(0) != MAGIC || header.getInt(4) != VERSION){
+                throw new IOException(path + " is not a run log");
+            }
+            count = header.getLong(COUNT);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * adds a run to the end of the log
+     * @param seed the seed of the run as a long
+     * @param score the score of the run as an int
+     * @param ticks how many ticks the run lasted as an int
+     * @param cause how the bird died as an int (RunStore.DIED_ON_GROUND or DIED_ON_TUBE)
+     */
+    public void append(long seed, int score, int ticks, int cause) throws IOException {
+        long at = HEADER + count * RECORD;
+        if(region == null || at + RECORD > regionStart + REGION){
+            regionStart = at;
+            region = channel.map(FileChannel.MapMode.READ_WRITE, at, REGION);
+        }
+        int p = (int) (at - regionStart);
+        region.putLong(p, seed);
+        region.putInt(p + 8, score);
+        region.putInt(p + 12, ticks);
+        region.putInt(p + 16, cause);
+        count++;
+        header.putLong(COUNT, count); // only counted once it is all written
+    }
+
+    /**
+     * adds the records from one on to a leaderboard
+     * @param from the first record to read as a long
+     * @param into the Leaderboard to add them to
+     */
+    public void readInto(long from, Leaderboard into) throws IOException {
+        if(from >= count){
+            return;
+        }
+        long start = HEADER + from * RECORD;
+        MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, start, (count - from) * RECORD);
+        for(long i = from; i < count; i++){
+            long seed = records.getLong();
+            int score = records.getInt();
+            int ticks = records.getInt();
+            records.getInt(); // how it died is not on the leaderboard
+            into.add(seed, score, ticks);
+        }
+    }
+
+    /**
+     * saves everything appended so far to the disk and closes the file
+     */
+    public void close() throws IOException {
+        if(region != null){
+            region.force();
+        }
+        header.force();
+        channel.close();
+        file.close();
+    }
+
+    /**
+     * gets how many runs are in the log
+     * @return the number of records as a long
+     */
+    public long getCount() {
+        return count;
+    }
+}
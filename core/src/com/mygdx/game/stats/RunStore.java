@@ -0,0 +1,246 @@
+package com.mygdx.game.stats;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * keeps every run between sessions: how it ended goes into a RunLog, and the best runs into a
+ * Leaderboard that the menu can read straight away
+ *
+ * the game only writes the numbers of a finished run into a fixed ring (like the InputQueue, one
+ * writer and one reader sharing only a head and tail counter) and a background thread appends them
+ * to the log, so ending a run never waits on the disk and allocates nothing. every COMPACT_EVERY
+ * runs (and when the store stops) the thread saves its own copy of the leaderboard to an index
+ * file, with how many records of the log it has counted. opening the store reads the index and
+ * only the records written after it, so it takes the same time with a million runs as with ten
+ *
+ * if the files can not be opened the leaderboard still counts the runs of the session
+ */
+public class RunStore {
+
+    public static final int DIED_ON_GROUND = 0;
+    public static final int DIED_ON_TUBE = 1;
+
+    private static final int CAPACITY = 256; // must be a power of 2
+    private static final int MASK = CAPACITY - 1;
+    private static final int COMPACT_EVERY = 64; // runs appended before the index is saved again
+
+    // the ring of finished runs
+    private final long[] seeds = new long[CAPACITY];
+    private final int[] scores = new int[CAPACITY];
+    private final int[] ticks = new int[CAPACITY];
+    private final int[] causes = new int[CAPACITY];
+    private final AtomicInteger head = new AtomicInteger(); // next run to append
+    private final AtomicInteger tail = new AtomicInteger(); // next free slot
+    private int dropped;
+
+    private final Leaderboard leaderboard = new Leaderboard(); // for the game, only touched by whoever records runs
+    private final Leaderboard saved = new Leaderboard(); // for the index, only touched by the writer thread
+    private final File indexPath;
+    private RunLog log; // null if the log could not be opened
+    private int sinceIndex; // runs appended since the index was saved
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * opens the log and index, reading the log only from where the index stops
+     * @param logPath the file every run is appended to
+     * @param indexPath the file the leaderboard is saved to
+     */
+    public RunStore(File logPath, File indexPath) {
+        this.indexPath = indexPath;
+        try {
+            log = new RunLog(logPath);
+        } catch (IOException e) {
+            System.out.println("Runs will not be kept: " + e.getMessage());
+            return;
+        }
+
+        readIndex();
+        try {
+            if(leaderboard.getCovered() > log.getCount()){
+                leaderboard.clear(); // the index is of another log
+            }
+            // runs the index did not have yet make it out of date, it is saved again on stop
+            sinceIndex = (int) Math.min(Integer.MAX_VALUE, log.getCount() - leaderboard.getCovered());
+            log.readInto(leaderboard.getCovered(), leaderboard);
+        } catch (IOException e) {
+            System.out.println("Could not read " + logPath + ": " + e.getMessage());
+        }
+        saved.set(leaderboard);
+    }
+
+    /**
+     * starts appending runs on the background thread
+     */
+    public void start() {
+        if(thread != null || log == null){
+            return;
+        }
+        running = true;
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while(running){
+                    if(!appendAll()){
+                        LockSupport.park(this);
+                    }
+                }
+            }
+        }, "runs");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * adds a finished run, only to be called by one thread at a time (the one stepping the game)
+     * @param seed the seed of the run as a long
+     * @param score the score of the run as an int
+     * @param ticks how many ticks the run lasted as an int
+     * @param cause how the bird died, DIED_ON_GROUND or DIED_ON_TUBE
+     * @return boolean true if it will be saved, false if the ring was full
+     */
+    public boolean record(long seed, int score, int ticks, int cause) {
+        leaderboard.add(seed, score, ticks);
+        if(log == null){
+            return false;
+        }
+        int t = tail.get();
+        if(t - head.get() == CAPACITY){
+            dropped++;
+            return false;
+        }
+        int slot = t & MASK;
+        seeds[slot] = seed;
+        scores[slot] = score;
+        this.ticks[slot] = ticks;
+        causes[slot] = cause;
+        tail.lazySet(t + 1); // publishes the run written above
+        if(thread != null){
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    /**
+     * stops the background thread, appends what it had not yet, saves the index if it changed and
+     * closes the log
+     */
+    public void stop() {
+        if(log == null){
+            return;
+        }
+        if(thread != null){
+            running = false;
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+        appendAll();
+        if(sinceIndex > 0){
+            writeIndex();
+        }
+        try {
+            log.close();
+        } catch (IOException e) {
+            System.out.println("Could not close the run log: " + e.getMessage());
+        }
+        log = null;
+    }
+
+    /**
+     * appends every run waiting in the ring to the log
+     * @return boolean true if there were any
+     */
+    private boolean appendAll() {
+        int h = head.get();
+        if(h == tail.get()){
+            return false;
+        }
+        while(h != tail.get()){
+            int slot = h & MASK;
+            try {
+                log.append(seeds[slot], scores[slot], ticks[slot], causes[slot]);
+                saved.add(seeds[slot], scores[slot], ticks[slot]);
+            } catch (IOException e) {
+                System.out.println("Could not append a run: " + e.getMessage());
+            }
+            h++;
+            head.lazySet(h); // frees the slot for the game
+            if(++sinceIndex >= COMPACT_EVERY){
+                writeIndex();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * reads the saved leaderboard, starting from nothing if there is none
+     */
+    private void readIndex() {
+        if(!indexPath.exists()){
+            return;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexPath)));
+            try {
+                leaderboard.read(in);
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            System.out.println("Could not read " + indexPath + ", counting every run again: " + e.getMessage());
+            leaderboard.clear();
+        }
+    }
+
+    /**
+     * saves the writer's leaderboard next to the index and then moves it over it, so a crash while
+     * saving leaves the old index
+     */
+    private void writeIndex() {
+        sinceIndex = 0;
+        File temp = new File(indexPath.getPath() + ".tmp");
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+            try {
+                saved.write(out);
+            } finally {
+                out.close();
+            }
+            if(!temp.renameTo(indexPath) && (!indexPath.delete() || !temp.renameTo(indexPath))){
+                throw new IOException("could not replace " + indexPath);
+            }
+        } catch (IOException e) {
+            System.out.println("Could not save " + indexPath + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * gets the best runs of every session, read by the same thread that records runs
+     * @return the Leaderboard, not to be changed
+     */
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    /**
+     * gets how many runs were not saved because the ring was full
+     * @return the number of dropped runs as an int
+     */
+    public int getDropped() {
+        return dropped;
+    }
+}
@@ -52,6 +52,14 @@ public class Animation {
         }
     }
 
+    /**
+     * goes back to the first frame, for when the animation is used again
+     */
+    public void reset(){
+        frame = 0;
+        currentFrameTime = 0;
+    }
+
     /**
      * gets the current frame on screen
      * @return the current frame on screen as a TextureRegion
@@ -59,4 +67,13 @@ public class Animation {
     public TextureRegion getFrame(){
         return frames.get(frame);
     }
+
+    /**
+     * gets any frame of the animation
+     * @param frame the index of the frame as an int
+     * @return the frame as a TextureRegion
+     */
+    public TextureRegion getFrame(int frame){
+        return frames.get(frame);
+    }
 }
@@ -0,0 +1,49 @@
+package sprites;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * an image repeated side by side across the screen that scrolls with the camera, slower the
+ * further away it is, so nothing has to keep track of where each copy is
+ *
+ * where the copies go is worked out from the camera every frame. the images are regions of the
+ * sprite atlas, which can not be wrapped by the gpu (only whole textures can), so the layer is
+ * drawn as the two or three copies that are on screen instead, into the same flush as everything
+ * else: a layer costs a few quads and no draw calls however far the camera has gone
+ */
+public class ParallaxLayer {
+
+    private final TextureRegion region;
+    private final float speed; // how far the layer moves for every unit the camera moves, 1 moves with the world
+    private final float y;
+
+    /**
+     * constructor method
+     * @param region the image to repeat
+     * @param speed how fast the layer scrolls compared to the world as a float, 0 stays on screen and 1 is the ground
+     * @param y where the bottom of the layer is as a float
+     */
+    public ParallaxLayer(TextureRegion region, float speed, float y) {
+        this.region = region;
+        this.speed = speed;
+        this.y = y;
+    }
+
+    /**
+     * draws the copies of the image the camera can see
+     * @param sb the SpriteBatch to draw with, between begin and end
+     * @param left the left edge of the camera in the world as a float
+     * @param width how wide the camera is as a float
+     */
+    public void draw(SpriteBatch sb, float left, float width) {
+        int imageWidth = region.getRegionWidth();
+        float scrolled = (left * speed) % imageWidth; // how far into its first copy the layer is
+        if(scrolled < 0){
+            scrolled += imageWidth;
+        }
+        for(float x = left - scrolled; x < left + width; x += imageWidth){
+            sb.draw(region, x, y);
+        }
+    }
+}
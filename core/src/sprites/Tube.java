@@ -1,106 +1,50 @@
 package sprites;
 
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.math.Vector2;
-
-import java.util.Random;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.mygdx.game.assets.AssetCache;
+import com.mygdx.game.assets.SpriteAtlas;
 
 /**
- * the class for the tube, collision, movement and positions
+ * the class for showing a tube, the top and bottom images drawn where an obstacle actor of the
+ * simulation is. one is shared by every tube drawn
  */
 public class Tube {
 
-    //the width of the tubes
-    public static final int TUBEWIDTH = 52;
-
-    private static final int FLUCTUATION = 140; // amount a tube can move between 0 and 130
-    private static final int TUBEGAP = 150; // the space between each tube
-    private static final int LOWESTOPENING = 80; // lowest part the tube can be
-
-    private Rectangle hitboxTop, hitboxBot; // the hit box of the tubes
-
-    private Texture topTube, bottomTube; // the images of the tubes
-
-    private Vector2 posTopTube, posBotTube; // the positions of the tubes
-    private Random rand; //  random position that the tube will be in the y axis
+    private TextureRegion topTube, bottomTube; // the images of the tubes, both in the sprite atlas
+    private AssetCache assets; // where the sprite atlas is borrowed from
 
     /**
-     * after taking in the next position of a tube (x) it will create the top and bottom tubes
-     * with a small consistient space between the tubes for the bird to fly through
-     * @param x (the x position where a tube will spawn as a float)
+     * takes in the images to draw the tubes with
+     * @param assets (the AssetCache to borrow the sprite atlas from)
      */
-    public Tube(float x){
-        topTube = new Texture("toptube.png");
-        bottomTube = new Texture("bottomtube.png");
-        rand = new Random(); // random position for y axis
-
-        posTopTube = new Vector2(x,rand.nextInt(FLUCTUATION) + TUBEGAP + LOWESTOPENING);
-        posBotTube = new Vector2(x, posTopTube.y - TUBEGAP - bottomTube.getHeight());
-
-        hitboxTop = new Rectangle(posTopTube.x, posTopTube.y, topTube.getWidth(), topTube.getHeight());
-        hitboxBot = new Rectangle(posBotTube.x, posBotTube.y, bottomTube.getWidth(), bottomTube.getHeight());
+    public Tube(AssetCache assets){
+        this.assets = assets;
+        SpriteAtlas sprites = assets.sprites();
+        topTube = sprites.findRegion("toptube");
+        bottomTube = sprites.findRegion("bottomtube");
     }
 
     /**
-     * getter method for the top tube texture
-     * @return the Texture of the top tube
+     * getter method for the top tube image
+     * @return the TextureRegion of the top tube
      */
-    public Texture getTopTube() {
+    public TextureRegion getTopTube() {
         return topTube;
     }
 
     /**
-     * getter method for the bottom tube texture
-     * @return the Texture of the bottom tube
+     * getter method for the bottom tube image
+     * @return the TextureRegion of the bottom tube
      */
-    public Texture getBottomTube() {
+    public TextureRegion getBottomTube() {
         return bottomTube;
     }
 
     /**
-     * getter method for the top position of the tube
-     * @return Vector2 of the position of the top tube
-     */
-    public Vector2 getPosTopTube() {
-        return posTopTube;
-    }
-
-    /**
-     * getter method for the position of the bottom tube
-     * @return Vector2 of the bottom tube
-     */
-    public Vector2 getPosBotTube() {
-        return posBotTube;
-    }
-
-    /**
-     * moves the tubes overtime
-     * @param x (the position x in the current time asa  float)
-     */
-    public void reposition(float x){
-        posTopTube.set(x, rand.nextInt(FLUCTUATION) + TUBEGAP + LOWESTOPENING);
-        posBotTube.set(x, posTopTube.y - TUBEGAP - bottomTube.getHeight());
-
-        hitboxTop.setPosition(posTopTube.x, posTopTube.y);
-        hitboxBot.setPosition(posBotTube.x, posBotTube.y);
-    }
-
-    /**
-     * retuns true if the player has hit the top or bottom tube
-     * @param playerbox (the hitbox of the player as a Rectangle)
-     * @return boolean (true of player has collided with the top/bottom tube) false otherwise
-     */
-    public boolean collides(Rectangle playerbox){
-        return playerbox.overlaps(hitboxBot) || playerbox.overlaps(hitboxTop);
-    }
-
-    /**
-     * disposes of al the objects in the class to prevent memory leak (delete after off of screen)
+     * gives the sprite atlas back to the asset cache to prevent memory leak
      */
     public void dispose(){
-        topTube.dispose();
-        bottomTube.dispose();
+        assets.release(AssetCache.SPRITES);
     }
 
 }
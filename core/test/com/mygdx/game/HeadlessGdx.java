@@ -0,0 +1,144 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.mygdx.game.assets.AssetCache;
+import com.mygdx.game.audio.AudioService;
+import com.mygdx.game.audio.NullAudioBackend;
+import com.mygdx.game.input.InputQueue;
+import com.mygdx.game.profiling.FrameProfiler;
+import com.mygdx.game.profiling.LatencyTracker;
+import com.mygdx.game.replay.ReplayRecorder;
+import com.mygdx.game.states.GameStateManager;
+import com.mygdx.game.stats.RunStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * stand-ins so game code that makes textures and sounds can run in a test or benchmark with no window:
+ * the headless backend for files, audio and input, and a gl that does nothing but hand out ids
+ */
+public final class HeadlessGdx {
+
+    private static boolean started;
+    private static int nextId = 1;
+
+    private HeadlessGdx() {
+    }
+
+    /**
+     * starts the headless backend once per jvm and puts in the stand-in gl
+     */
+    public static synchronized void init() {
+        if(started){
+            return;
+        }
+        started = true;
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.renderInterval = 1f; // nothing is drawn by the headless loop anyway
+        new HeadlessApplication(new ApplicationAdapter() {
+        }, config);
+
+        Gdx.gl = Gdx.gl20 = stubGL();
+    }
+
+    /**
+     * makes a game state manager with everything it needs, playing sounds and recording replays to
+     * nowhere and runs to temporary files. input is scripted by adding taps to its getInput() queue
+     * @return a new GameStateManager with an empty asset cache
+     */
+    public static GameStateManager newStateManager() {
+        return new GameStateManager(new AssetCache(), new AudioService(new NullAudioBackend()), new ReplayRecorder(nullStream()), tempRunStore(),
+                new FrameProfiler(), new InputQueue(), new LatencyTracker());
+    }
+
+    /**
+     * makes a run store on files that are deleted when the jvm exits, it is not started so the
+     * runs only go into its leaderboard once its ring is full
+     */
+    public static RunStore tempRunStore() {
+        try {
+            File log = File.createTempFile("runs", ".log");
+            File index = File.createTempFile("runs", ".idx");
+            log.deleteOnExit();
+            index.deleteOnExit();
+            log.delete(); // made by the store
+            index.delete();
+            return new RunStore(log, index);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * a stream that throws away everything written to it
+     */
+    public static OutputStream nullStream() {
+        return new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+    }
+
+    /**
+     * a print stream that throws away everything, to hide the dispose messages of restarts
+     */
+    public static PrintStream nullPrintStream() {
+        return new PrintStream(nullStream());
+    }
+
+    /**
+     * a gl where every call succeeds, hands out new ids and reports big limits
+     */
+    private static GL20 stubGL() {
+        return (GL20) Proxy.newProxyInstance(HeadlessGdx.class.getClassLoader(), new Class<?>[]{GL20.class},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        String name = method.getName();
+                        if(name.equals("glGetError")){
+                            return 0;
+                        }
+                        if(name.startsWith("glGet") && args != null){
+                            for(Object arg : args){
+                                if(arg instanceof IntBuffer){
+                                    IntBuffer buffer = (IntBuffer) arg;
+                                    buffer.put(buffer.position(), name.equals("glGetIntegerv") ? 4096 : 1);
+                                }
+                            }
+                        }
+
+                        Class<?> type = method.getReturnType();
+                        if(type == int.class){
+                            return nextId++;
+                        }
+                        if(type == boolean.class){
+                            return true;
+                        }
+                        if(type == String.class){
+                            return "";
+                        }
+                        if(type == float.class){
+                            return 0f;
+                        }
+                        return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,54 @@
+package com.mygdx.game.assets;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.mygdx.game.HeadlessGdx;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertSame;
+
+/**
+ * everything a frame draws has to come from one texture or the SpriteBatch flushes on every
+ * switch: the sprites and the font page must all be packed on a single page of the atlas
+ */
+public class SpriteAtlasTest {
+
+    private static final String[] SPRITES = {"bg", "ground", "birdanimation", "toptube", "bottomtube", "playbtn", "gameover"};
+
+    private AssetCache assets;
+    private SpriteAtlas sprites;
+
+    @Before
+    public void setUp() {
+        HeadlessGdx.init();
+        assets = new AssetCache();
+        sprites = assets.sprites();
+    }
+
+    @After
+    public void tearDown() {
+        assets.release(AssetCache.SPRITES);
+        assets.dispose();
+    }
+
+    @Test
+    public void spritesShareOneTexture() {
+        Texture page = sprites.findRegion(SPRITES[0]).getTexture();
+        for(String sprite : SPRITES){
+            assertSame(sprite, page, sprites.findRegion(sprite).getTexture());
+        }
+    }
+
+    @Test
+    public void fontDrawsFromTheAtlas() {
+        BitmapFont font = sprites.newFont();
+        try {
+            assertSame(sprites.findRegion("playbtn").getTexture(), font.getRegion().getTexture());
+        } finally {
+            font.dispose();
+        }
+    }
+}
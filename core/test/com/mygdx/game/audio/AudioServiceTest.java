@@ -0,0 +1,146 @@
+package com.mygdx.game.audio;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * runs the service on a backend that records what it was asked to do, the requests are started
+ * by update like on desktop. the effects are long enough that no voice finishes during a test
+ */
+public class AudioServiceTest {
+
+    private static final int RING = 64; // AudioService.CAPACITY
+    private static final float LONG = 100; // seconds
+
+    private RecordingBackend backend;
+    private AudioService audio;
+
+    @Before
+    public void setUp() {
+        backend = new RecordingBackend();
+        audio = new AudioService(backend);
+    }
+
+    @Test
+    public void loadingTwiceGivesTheSameEffect() {
+        int flap = audio.load("flap.ogg", 2, LONG);
+        assertEquals(flap, audio.load("flap.ogg", 2, LONG));
+        assertEquals(1, backend.loads);
+    }
+
+    @Test
+    public void playsUpToMaxVoicesWithoutStealing() {
+        int flap = audio.load("flap.ogg", 3, LONG);
+        play(flap, 3);
+        assertEquals(Arrays.asList(0L, 1L, 2L), backend.played);
+        assertTrue(backend.stopped.isEmpty());
+        assertEquals(3, audio.getPlayed());
+        assertEquals(0, audio.getStolen());
+    }
+
+    @Test
+    public void newVoiceStealsTheOldest() {
+        int flap = audio.load("flap.ogg", 2, LONG);
+        play(flap, 4);
+        assertEquals(Arrays.asList(0L, 1L), backend.stopped); // the third stopped the first, the fourth the second
+        assertEquals(4, audio.getPlayed());
+        assertEquals(2, audio.getStolen());
+    }
+
+    @Test
+    public void effectsStealOnlyTheirOwnVoices() {
+        int flap = audio.load("flap.ogg", 1, LONG);
+        int hit = audio.load("hit.ogg", 1, LONG);
+        play(flap, 1); // voice 0
+        play(hit, 1); // voice 1
+        play(flap, 1); // voice 2, steals 0
+        assertEquals(Arrays.asList(0L), backend.stopped);
+        assertEquals(1, audio.getStolen());
+    }
+
+    @Test
+    public void failedPlayDoesNotAdvanceOldest() {
+        int flap = audio.load("flap.ogg", 2, LONG);
+        play(flap, 1); // voice 0 in the first place
+        backend.fail = true;
+        play(flap, 1); // nothing plays, the second place stays free
+        backend.fail = false;
+        play(flap, 1); // voice 1 in the second place, nothing to steal
+        assertTrue(backend.stopped.isEmpty());
+        assertEquals(2, audio.getPlayed());
+
+        play(flap, 1); // back to the first place, steals voice 0
+        assertEquals(Arrays.asList(0L), backend.stopped);
+        assertEquals(1, audio.getStolen());
+    }
+
+    @Test
+    public void fullRingDropsPlays() {
+        int flap = audio.load("flap.ogg", 4, LONG);
+        for(int i = 0; i < RING; i++){
+            assertTrue(audio.play(flap, 1));
+        }
+        assertFalse(audio.play(flap, 1));
+        assertFalse(audio.play(flap, 1));
+        assertEquals(2, audio.getDropped());
+        assertEquals(0, audio.getPlayed()); // nothing is started before update
+
+        audio.update();
+        assertEquals(RING, audio.getPlayed());
+        assertEquals(RING - 4, audio.getStolen());
+        assertTrue(audio.play(flap, 1)); // there is room again
+        assertEquals(2, audio.getDropped());
+    }
+
+    /**
+     * asks for an effect a number of times and starts the requests
+     */
+    private void play(int effect, int times) {
+        for(int i = 0; i < times; i++){
+            audio.play(effect, 1);
+        }
+        audio.update();
+    }
+
+    /**
+     * hands out voice ids in order and remembers which were played and stopped
+     */
+    private static class RecordingBackend implements AudioBackend {
+        int loads;
+        long nextVoice;
+        boolean fail; // every play fails while set
+        final List<Long> played = new ArrayList<Long>();
+        final List<Long> stopped = new ArrayList<Long>();
+
+        @Override
+        public int load(String path) {
+            return loads++;
+        }
+
+        @Override
+        public long play(int sound, float volume) {
+            if(fail){
+                return -1;
+            }
+            played.add(nextVoice);
+            return nextVoice++;
+        }
+
+        @Override
+        public void stop(int sound, long voice) {
+            stopped.add(voice);
+        }
+
+        @Override
+        public void dispose() {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.mygdx.game.profiling;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * feeds a governor slow frames and fast frames and checks when it changes the level, pinned and
+ * not
+ */
+public class QualityGovernorTest {
+
+    private static final long BUDGET = 1000000000L / 60;
+    private static final int MISS_LIMIT = 6; // the default, a level is dropped on the 7th missed frame of a window
+
+    @Test
+    public void slowFramesDropALevel() {
+        QualityGovernor quality = new QualityGovernor(BUDGET, 1.2f, 0.6f, MISS_LIMIT);
+        frames(quality, MISS_LIMIT + 1, BUDGET * 2);
+        assertEquals(1, quality.getLevel());
+        assertEquals(1, quality.getDrops());
+    }
+
+    @Test
+    public void fastFramesRaiseALevel() {
+        QualityGovernor quality = new QualityGovernor(BUDGET, 1.2f, 0.6f, MISS_LIMIT);
+        frames(quality, MISS_LIMIT + 1, BUDGET * 2);
+        frames(quality, QualityGovernor.WINDOW, BUDGET / 2);
+        assertEquals(0, quality.getLevel());
+        assertEquals(1, quality.getRaises());
+    }
+
+    @Test
+    public void pinnedLevelStaysThroughSlowFrames() {
+        QualityGovernor quality = new QualityGovernor(BUDGET, 1.2f, 0.6f, MISS_LIMIT);
+        quality.pin(2);
+        frames(quality, QualityGovernor.WINDOW * 10, BUDGET * 2);
+        assertEquals(2, quality.getLevel());
+        assertEquals(0, quality.getDrops());
+        assertEquals(QualityGovernor.WINDOW * 10, quality.getMissed());
+        assertEquals(QualityGovernor.WINDOW * 10, quality.getFramesAt(2));
+    }
+
+    @Test
+    public void pinnedLevelStaysThroughFastFrames() {
+        QualityGovernor quality = new QualityGovernor(BUDGET, 1.2f, 0.6f, MISS_LIMIT);
+        quality.pin(QualityGovernor.LEVELS - 1);
+        frames(quality, QualityGovernor.WINDOW * 10, BUDGET / 2);
+        assertEquals(QualityGovernor.LEVELS - 1, quality.getLevel());
+        assertEquals(0, quality.getRaises());
+    }
+
+    @Test
+    public void unpinnedAdaptsAgain() {
+        QualityGovernor quality = new QualityGovernor(BUDGET, 1.2f, 0.6f, MISS_LIMIT);
+        quality.pin(0);
+        quality.pin(QualityGovernor.ADAPTIVE);
+        frames(quality, MISS_LIMIT + 1, BUDGET * 2);
+        assertEquals(1, quality.getLevel());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void pinOutsideTheLevels() {
+        new QualityGovernor(BUDGET, 1.2f, 0.6f, MISS_LIMIT).pin(QualityGovernor.LEVELS);
+    }
+
+    /**
+     * frames that all take the same time, start to start and working
+     */
+    private static void frames(QualityGovernor quality, int count, long time) {
+        for(int i = 0; i < count; i++){
+            quality.frame(time, time);
+        }
+    }
+}
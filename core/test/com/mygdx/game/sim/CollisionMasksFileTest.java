@@ -0,0 +1,74 @@
+package com.mygdx.game.sim;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.imageio.ImageIO;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * masks.bin is baked once by MaskBaker and committed, this checks it still matches the images it
+ * was made from: a pixel is solid where its alpha is at least 128, rows go from the bottom up.
+ * when it fails, run gradlew desktop:masks and commit the new masks.bin
+ */
+public class CollisionMasksFileTest {
+
+    private static final int ALPHA_THRESHOLD = 128; // the same as MaskBaker
+
+    private static CollisionMasks masks;
+
+    @BeforeClass
+    public static void load() throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream("masks.bin"));
+        try {
+            masks = CollisionMasks.read(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void birdFramesMatchTheAnimation() throws IOException {
+        BufferedImage sheet = ImageIO.read(new File("birdanimation.png"));
+        assertEquals(BirdBody.FRAMES, masks.getBirdFrames());
+        int frameWidth = sheet.getWidth() / BirdBody.FRAMES;
+        for(int i = 0; i < BirdBody.FRAMES; i++){
+            check("bird frame " + i, sheet, i * frameWidth, frameWidth, masks.getBird(i));
+        }
+    }
+
+    @Test
+    public void topTubeMatchesItsImage() throws IOException {
+        BufferedImage image = ImageIO.read(new File("toptube.png"));
+        check("top tube", image, 0, image.getWidth(), masks.getTopTube());
+    }
+
+    @Test
+    public void bottomTubeMatchesItsImage() throws IOException {
+        BufferedImage image = ImageIO.read(new File("bottomtube.png"));
+        check("bottom tube", image, 0, image.getWidth(), masks.getBottomTube());
+    }
+
+    /**
+     * compares every pixel of a strip of an image with a mask
+     */
+    private static void check(String name, BufferedImage image, int left, int width, BitMask mask) {
+        int height = image.getHeight();
+        assertEquals(name + " width", width, mask.getWidth());
+        assertEquals(name + " height", height, mask.getHeight());
+        for(int y = 0; y < height; y++){
+            for(int x = 0; x < width; x++){
+                boolean solid = image.getRGB(left + x, y) >>> 24 >= ALPHA_THRESHOLD;
+                assertEquals(name + " pixel " + x + ", " + y, solid, mask.get(x, height - 1 - y));
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.mygdx.game.sim;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * moves a bird along the trajectories that are easy to get wrong past a tube: through the gap in
+ * one tick or many, tunnelling through a tube, clipping a corner, grazing an edge, starting inside
+ * one, and checks when CollisionSystem says it hit (on boxes, the masks are left out)
+ */
+public class CollisionSystemTest {
+
+    private static final float TOLERANCE = 1e-4f;
+    private static final int W = BirdBody.WIDTH;
+    private static final int H = BirdBody.HEIGHT;
+
+    private Actors actors;
+    private int bird;
+    private CollisionSystem collisions;
+
+    private float left, right; // sides of the tube
+    private float gapBottom, gapTop;
+    private float gapMiddle; // bird y that leaves as much room above as below
+    private float belowGap; // bird y that hits the bottom tube
+
+    @Before
+    public void setUp() {
+        actors = new Actors(2);
+        bird = actors.create(Actors.BODY | Actors.MOTION);
+        int tube = actors.create(Actors.BODY | Actors.OBSTACLE);
+
+        ObstacleChunk chunk = new ObstacleChunk();
+        chunk.x[0] = 200;
+        chunk.top[0] = new TubeSpawner(1).nextTop();
+        chunk.gap[0] = TubeBody.GAP;
+        chunk.period = 1;
+        actors.placeObstacle(tube, chunk, 0, 0);
+
+        ObstacleGrid grid = new ObstacleGrid(actors, ObstacleGenerator.TUBE_DISTANCE, 1);
+        grid.update(tube);
+        collisions = new CollisionSystem(null, grid);
+
+        left = actors.getX(tube);
+        right = left + TubeBody.WIDTH;
+        gapBottom = actors.getBottomY(tube) + TubeBody.HEIGHT;
+        gapTop = actors.getY(tube);
+        gapMiddle = (gapBottom + gapTop) / 2 - H / 2;
+        belowGap = gapBottom - H - 20;
+    }
+
+    @Test
+    public void gapOneTick() {
+        check(left - W - 1, gapMiddle, left - W + 1, gapMiddle, Sweep.MISS);
+    }
+
+    @Test
+    public void gapStraightThrough() {
+        check(left - W - 10, gapMiddle, right + 10, gapMiddle, Sweep.MISS);
+    }
+
+    @Test
+    public void tunnelBottom() {
+        check(left - W - 50, belowGap, right + 50, belowGap, 50f / (TubeBody.WIDTH + W + 100));
+    }
+
+    @Test
+    public void tunnelTop() {
+        check(left - W - 10, gapTop + 40, right + 10, gapTop + 40, 10f / (TubeBody.WIDTH + W + 20));
+    }
+
+    @Test
+    public void dropThroughBottomTopEdge() {
+        check(left + 10, gapBottom + 30, left + 10, gapBottom - 400, 30f / 430f);
+    }
+
+    @Test
+    public void riseThroughTopBottomEdge() {
+        check(left + 10, gapTop - H - 10, left + 10, gapTop + 300, 10f / (310 + H));
+    }
+
+    @Test
+    public void clipCorner() {
+        check(left - W - 10, gapBottom + 10, right - 10, gapBottom - 30, 0.25f);
+    }
+
+    @Test
+    public void flyOverCorner() {
+        check(left - W - 30, gapBottom + 20, left + 20, gapBottom + 2, Sweep.MISS);
+    }
+
+    @Test
+    public void dropPastCorner() {
+        check(left - W - 20, gapBottom + 10, left - W - 1, gapBottom - 30, Sweep.MISS);
+    }
+
+    @Test
+    public void slideAlongTopEdge() {
+        check(left - W - 5, gapBottom, right + 5, gapBottom, Sweep.MISS);
+    }
+
+    @Test
+    public void stopTouchingLeftEdge() {
+        check(left - W - 5, belowGap, left - W, belowGap, Sweep.MISS);
+    }
+
+    @Test
+    public void stopOneUnitIn() {
+        check(left - W - 5, belowGap, left - W + 1, belowGap, 5f / 6f);
+    }
+
+    @Test
+    public void startInside() {
+        check(left + 5, belowGap, left + 6, belowGap, 0);
+    }
+
+    @Test
+    public void standStillInGap() {
+        check(left + 5, gapMiddle, left + 5, gapMiddle, Sweep.MISS);
+    }
+
+    /**
+     * moves the bird from one place to another in a tick and checks the time of impact
+     */
+    private void check(float fromX, float fromY, float toX, float toY, float expected) {
+        actors.place(bird, fromX, fromY);
+        actors.x[bird] = toX;
+        actors.y[bird] = toY;
+        assertEquals(expected, collisions.sweep(actors, bird), TOLERANCE);
+    }
+}
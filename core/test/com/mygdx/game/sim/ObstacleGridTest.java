@@ -0,0 +1,161 @@
+package com.mygdx.game.sim;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * a grid of 10 wide cells made for 8 actors, so it starts with 8 buckets and cells 0, 8, 16, ...
+ * share a bucket
+ */
+public class ObstacleGridTest {
+
+    private static final float CELL = 10;
+
+    private Actors actors;
+    private ObstacleGrid grid;
+
+    @Before
+    public void setUp() {
+        actors = new Actors(64);
+        grid = new ObstacleGrid(actors, CELL, 8);
+    }
+
+    @Test
+    public void queryFindsLeftEdgesInRange() {
+        int a = add(5);
+        int b = add(15);
+        add(25);
+        add(-5);
+        assertFound(grid.query(0, 19), a, b);
+    }
+
+    @Test
+    public void queryIncludesBothEnds() {
+        int a = add(10);
+        int b = add(20);
+        assertFound(grid.query(10, 20), a, b);
+    }
+
+    @Test
+    public void emptyRangeFindsNothing() {
+        add(5);
+        assertEquals(0, grid.query(6, 4));
+    }
+
+    @Test
+    public void cellsSharingABucketAreKeptApart() {
+        int near = add(5); // cell 0
+        int far = add(85); // cell 8, same bucket
+        int further = add(165); // cell 16, same bucket
+        assertFound(grid.query(0, 9), near);
+        assertFound(grid.query(80, 89), far);
+        assertFound(grid.query(160, 169), further);
+    }
+
+    @Test
+    public void wideQueryLooksAtEveryBucketOnce() {
+        // spans more cells than there are buckets, so every bucket is looked in once
+        int a = add(5);
+        int b = add(85);
+        int c = add(500);
+        add(-100);
+        add(2000);
+        assertFound(grid.query(0, 1000), a, b, c);
+    }
+
+    @Test
+    public void growingRehashesEveryActor() {
+        int[] ids = new int[40];
+        for(int i = 0; i < ids.length; i++){
+            ids[i] = add(i * 7);
+        }
+        assertEquals(ids.length, grid.getSize());
+        for(int i = 0; i < ids.length; i++){
+            assertFound(grid.query(i * 7, i * 7), ids[i]);
+        }
+        assertFound(grid.query(0, 20), ids[0], ids[1], ids[2]);
+    }
+
+    @Test
+    public void updateMovesBetweenBuckets() {
+        int a = add(5);
+        int b = add(6);
+        actors.place(a, 55, 0);
+        grid.update(a);
+        assertFound(grid.query(0, 9), b);
+        assertFound(grid.query(50, 59), a);
+        assertEquals(2, grid.getSize());
+    }
+
+    @Test
+    public void updateInTheSameCellKeepsIt() {
+        int a = add(5);
+        actors.place(a, 7, 0);
+        grid.update(a);
+        assertFound(grid.query(0, 9), a);
+        assertEquals(1, grid.getSize());
+    }
+
+    @Test
+    public void removeTakesOnlyThatActorOut() {
+        int a = add(5);
+        int b = add(6);
+        int c = add(7);
+        grid.remove(b);
+        assertFound(grid.query(0, 9), a, c);
+        assertEquals(2, grid.getSize());
+
+        grid.remove(b); // not in the grid any more
+        assertEquals(2, grid.getSize());
+
+        grid.update(b);
+        assertFound(grid.query(0, 9), a, b, c);
+    }
+
+    @Test
+    public void removeFirstAndLastOfABucket() {
+        int a = add(5);
+        int b = add(85);
+        int c = add(165);
+        grid.remove(c); // the head, added last
+        grid.remove(a); // the tail
+        assertFound(grid.query(0, 1000), b);
+    }
+
+    @Test
+    public void clearEmptiesTheGrid() {
+        add(5);
+        add(85);
+        grid.clear();
+        assertEquals(0, grid.getSize());
+        assertEquals(0, grid.query(-1000, 1000));
+        int a = add(5);
+        assertFound(grid.query(0, 9), a);
+    }
+
+    private int add(float x) {
+        int id = actors.create(Actors.BODY | Actors.OBSTACLE);
+        actors.place(id, x, 0);
+        grid.update(id);
+        return id;
+    }
+
+    /**
+     * checks the last query found exactly these actors, in any order
+     */
+    private void assertFound(int found, int... expected) {
+        int[] ids = new int[found];
+        for(int i = 0; i < found; i++){
+            ids[i] = grid.getFound(i);
+        }
+        Arrays.sort(ids);
+        int[] sorted = expected.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(sorted, ids);
+    }
+}
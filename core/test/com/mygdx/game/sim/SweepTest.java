@@ -0,0 +1,79 @@
+package com.mygdx.game.sim;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * a 10 by 10 box moved against a 10 by 10 box at (20, 0)
+ */
+public class SweepTest {
+
+    private static final float TOLERANCE = 1e-6f;
+
+    @Test
+    public void hitHalfway() {
+        assertEquals(0.5f, sweep(0, 0, 20, 0), TOLERANCE);
+    }
+
+    @Test
+    public void hitFromAbove() {
+        assertEquals(0.25f, sweep(20, 20, 0, -40), TOLERANCE);
+    }
+
+    @Test
+    public void hitFromTheRight() {
+        assertEquals(0.5f, sweep(40, 0, -20, 0), TOLERANCE);
+    }
+
+    @Test
+    public void diagonalHitsWhenBothAxesOverlap() {
+        // overlaps on x from 0.5, on y from 0.75
+        assertEquals(0.75f, sweep(0, -40, 20, 40), TOLERANCE);
+    }
+
+    @Test
+    public void tunnelThrough() {
+        assertEquals(0.1f, sweep(0, 0, 100, 0), TOLERANCE);
+    }
+
+    @Test
+    public void stopShort() {
+        assertEquals(Sweep.MISS, sweep(0, 0, 9, 0), TOLERANCE);
+    }
+
+    @Test
+    public void stopTouching() {
+        assertEquals(Sweep.MISS, sweep(0, 0, 10, 0), TOLERANCE);
+    }
+
+    @Test
+    public void slideAlongEdge() {
+        assertEquals(Sweep.MISS, sweep(0, 10, 40, 0), TOLERANCE);
+    }
+
+    @Test
+    public void passDiagonallyBy() {
+        // gets to the box's x after it is already above it
+        assertEquals(Sweep.MISS, sweep(0, 5, 20, 40), TOLERANCE);
+    }
+
+    @Test
+    public void startInside() {
+        assertEquals(0, sweep(25, 5, 100, 0), TOLERANCE);
+    }
+
+    @Test
+    public void standStillInside() {
+        assertEquals(0, sweep(25, 5, 0, 0), TOLERANCE);
+    }
+
+    @Test
+    public void standStillOutside() {
+        assertEquals(Sweep.MISS, sweep(0, 0, 0, 0), TOLERANCE);
+    }
+
+    private static float sweep(float x, float y, float dx, float dy) {
+        return Sweep.timeOfImpact(x, y, 10, 10, dx, dy, 20, 0, 10, 10);
+    }
+}
@@ -0,0 +1,90 @@
+package com.mygdx.game.states;
+
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.game.HeadlessGdx;
+import com.mygdx.game.sim.Simulation;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * a run in progress and a restart must not allocate: once warmed up, the bytes the thread
+ * allocated are read around a stretch of ticks (a tap every TAP_INTERVAL ticks, dying and
+ * restarting as it goes) and around restarts, and must not have gone up. the warmup is done
+ * once for the class and both tests go on with the same game
+ */
+public class RestartAllocationTest {
+
+    private static final int TAP_INTERVAL = 22;
+    private static final int WARMUP = 200000; // ticks, enough for the jit to compile the loop
+    private static final int TICKS = 20000;
+    private static final int RESTARTS = 1000;
+
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static GameStateManager gsm;
+    private static PrintStream out;
+    private static int ticks;
+
+    @BeforeClass
+    public static void setUp() {
+        HeadlessGdx.init();
+        out = System.out;
+        System.setOut(HeadlessGdx.nullPrintStream()); // every restart prints a dispose message
+
+        gsm = HeadlessGdx.newStateManager();
+        gsm.push(new PlayState(gsm));
+        for(int i = 0; i < WARMUP; i++){
+            tick();
+            if(i % 1000 == 0){
+                gsm.restart();
+            }
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        System.setOut(out);
+    }
+
+    @Test
+    public void ticksAllocateNothing() {
+        long before = allocated();
+        for(int i = 0; i < TICKS; i++){
+            tick();
+        }
+        assertEquals("bytes allocated by " + TICKS + " ticks", 0, allocated() - before);
+    }
+
+    @Test
+    public void restartAllocatesNothing() {
+        long before = allocated();
+        for(int i = 0; i < RESTARTS; i++){
+            gsm.restart();
+        }
+        assertEquals("bytes allocated by " + RESTARTS + " restarts", 0, allocated() - before);
+    }
+
+    private static void tick() {
+        if(++ticks % TAP_INTERVAL == 0){
+            gsm.getInput().tap(TimeUtils.nanoTime());
+        }
+        gsm.update(Simulation.STEP);
+    }
+
+    /**
+     * what this thread has allocated so far, less what reading it allocates
+     */
+    private static long allocated() {
+        long id = Thread.currentThread().getId();
+        long first = threads.getThreadAllocatedBytes(id);
+        long second = threads.getThreadAllocatedBytes(id);
+        return second - (second - first) * 2;
+    }
+}
@@ -0,0 +1,77 @@
+package com.mygdx.game.desktop;
+
+import com.mygdx.game.sim.BatchSimulation;
+import com.mygdx.game.sim.ThresholdPolicy;
+import com.mygdx.game.sim.Tuning;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * flies a large batch of birds through one seeded line of tubes on every core and prints how many
+ * survived and how their scores are spread, to compare difficulty settings
+ *
+ * usage: BatchLauncher [birds] [ticks] [seed] [tubeGap] [fluctuation] [gravity] [jumpVelocity]
+ */
+public class BatchLauncher {
+	private static final String USAGE = "usage: BatchLauncher [birds] [ticks] [seed] [tubeGap] [fluctuation] [gravity] [jumpVelocity]";
+
+	public static void main (String[] arg) throws IOException {
+		int birds, ticks;
+		long seed;
+		Tuning tuning;
+		try {
+			birds = count(arg, 0, 100000, "birds");
+			ticks = count(arg, 1, 3600, "ticks");
+			seed = arg.length > 2 ? Long.parseLong(arg[2]) : 1L;
+			Tuning defaults = Tuning.DEFAULT;
+			tuning = new Tuning(
+					arg.length > 5 ? Integer.parseInt(arg[5]) : defaults.getGravity(),
+					arg.length > 6 ? Integer.parseInt(arg[6]) : defaults.getJumpVelocity(),
+					arg.length > 3 ? Integer.parseInt(arg[3]) : defaults.getTubeGap(),
+					arg.length > 4 ? Integer.parseInt(arg[4]) : defaults.getFluctuation());
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			System.exit(1);
+			return;
+		}
+
+		ForkJoinPool pool = new ForkJoinPool();
+		BatchSimulation batch = new BatchSimulation(birds, tuning,
+				new ThresholdPolicy(birds, -20, tuning.getTubeGap() - 30, seed), Masks.load());
+
+		// one short run first so the timed run is not measuring the jit compiler
+		batch.run(seed, Math.min(ticks, 600), pool);
+
+		long start = System.nanoTime();
+		batch.run(seed, ticks, pool);
+		long nanos = System.nanoTime() - start;
+		pool.shutdown();
+
+		System.out.println(tuning + " seed=" + seed + " threads=" + pool.getParallelism());
+		System.out.println(birds + " birds, " + ticks + " ticks, " + batch.getBirdTicks() + " bird ticks in "
+				+ (nanos / 1000000) + "ms (" + (long) (batch.getBirdTicks() / (nanos / 1e9)) + " bird ticks/s)");
+		System.out.println("alive after 1s: " + batch.getAliveAt(60) + ", after 10s: " + batch.getAliveAt(600)
+				+ ", at end: " + batch.getAliveCount());
+
+		int[] scores = batch.getSortedScores();
+		System.out.println("score p10: " + scores[birds / 10] + ", p50: " + scores[birds / 2]
+				+ ", p90: " + scores[birds * 9 / 10] + ", p99: " + scores[birds * 99 / 100]
+				+ ", max: " + scores[birds - 1]);
+	}
+
+	/**
+	 * reads an argument that has to be at least 1
+	 */
+	private static int count (String[] arg, int index, int fallback, String name) {
+		if (arg.length <= index) {
+			return fallback;
+		}
+		int value = Integer.parseInt(arg[index]);
+		if (value < 1) {
+			throw new IllegalArgumentException(name + " has to be at least 1, not " + value);
+		}
+		return value;
+	}
+}
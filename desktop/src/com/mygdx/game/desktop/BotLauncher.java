@@ -0,0 +1,192 @@
+package com.mygdx.game.desktop;
+
+import com.mygdx.game.sim.Autopilot;
+import com.mygdx.game.sim.CollisionMasks;
+import com.mygdx.game.sim.Difficulty;
+import com.mygdx.game.sim.Simulation;
+import com.mygdx.game.sim.Tuning;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * lets the autopilot play thousands of seeded games on every core with no window and prints how
+ * long it survived, to see how a change to the physics changes how far a good player gets
+ *
+ * every tuning number can be given as from:to:step instead of a single value, then every
+ * combination is played and printed on its own line so the numbers can be searched by a script
+ *
+ * usage: BotLauncher [games] [ticks] [seed] [tubeGap] [fluctuation] [gravity] [jumpVelocity]
+ */
+public class BotLauncher {
+	private static final String USAGE = "usage: BotLauncher [games] [ticks] [seed] [tubeGap] [fluctuation] [gravity] [jumpVelocity]"
+			+ ", a tuning number can be from:to:step";
+	private static final int SLICE = 64; // games played by one fork/join task
+
+	public static void main (String[] arg) throws IOException {
+		int games, ticks;
+		long seed;
+		int[] gaps, fluctuations, gravities, jumps;
+		try {
+			games = count(arg, 0, 2000, "games");
+			ticks = count(arg, 1, 3600, "ticks");
+			seed = arg.length > 2 ? Long.parseLong(arg[2]) : 1L;
+			Tuning defaults = Tuning.DEFAULT;
+			gaps = range(arg, 3, defaults.getTubeGap());
+			fluctuations = range(arg, 4, defaults.getFluctuation());
+			gravities = range(arg, 5, defaults.getGravity());
+			jumps = range(arg, 6, defaults.getJumpVelocity());
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			System.exit(1);
+			return;
+		}
+
+		CollisionMasks masks = Masks.load();
+		ForkJoinPool pool = new ForkJoinPool();
+		System.out.println(games + " games of up to " + ticks + " ticks from seed " + seed
+				+ ", threads=" + pool.getParallelism());
+		for (int gap : gaps) {
+			for (int fluctuation : fluctuations) {
+				for (int gravity : gravities) {
+					for (int jump : jumps) {
+						Tuning tuning = new Tuning(gravity, jump, gap, fluctuation);
+						play(tuning, games, ticks, seed, masks, pool);
+					}
+				}
+			}
+		}
+		pool.shutdown();
+	}
+
+	/**
+	 * plays every game with one tuning and prints a line about them
+	 */
+	private static void play (Tuning tuning, int games, int ticks, long seed, CollisionMasks masks, ForkJoinPool pool) {
+		long start = System.nanoTime();
+		Autopilot autopilot = new Autopilot(tuning, Difficulty.DEFAULT);
+		long built = System.nanoTime();
+
+		int[] lived = new int[games];
+		int[] scores = new int[games];
+		pool.invoke(new GameTask(autopilot, tuning, masks, seed, ticks, lived, scores, 0, games));
+		long nanos = System.nanoTime() - built;
+
+		long total = 0;
+		int survived = 0;
+		for (int i = 0; i < games; i++) {
+			total += lived[i];
+			if (lived[i] >= ticks) {
+				survived++;
+			}
+		}
+		Arrays.sort(lived);
+		Arrays.sort(scores);
+		System.out.println(tuning + " | survived " + (survived * 100f / games) + "%, seconds mean "
+				+ seconds(total / games) + " p10 " + seconds(lived[games / 10]) + " p50 " + seconds(lived[games / 2])
+				+ ", score p10 " + scores[games / 10] + " p50 " + scores[games / 2] + " max " + scores[games - 1]
+				+ " | table " + ((built - start) / 1000000) + "ms, " + (long) (total / (nanos / 1e9)) + " ticks/s");
+	}
+
+	private static String seconds (long ticks) {
+		return String.valueOf(Math.round(ticks * Simulation.STEP * 10) / 10f);
+	}
+
+	/**
+	 * reads an argument that has to be at least 1
+	 */
+	private static int count (String[] arg, int index, int fallback, String name) {
+		if (arg.length <= index) {
+			return fallback;
+		}
+		int value = Integer.parseInt(arg[index]);
+		if (value < 1) {
+			throw new IllegalArgumentException(name + " has to be at least 1, not " + value);
+		}
+		return value;
+	}
+
+	/**
+	 * reads an argument as either one number or from:to:step, with to not below from and step above 0
+	 */
+	private static int[] range (String[] arg, int index, int fallback) {
+		if (arg.length <= index) {
+			return new int[] {fallback};
+		}
+		String[] parts = arg[index].split(":");
+		if (parts.length == 1) {
+			return new int[] {Integer.parseInt(parts[0])};
+		}
+		int from = Integer.parseInt(parts[0]);
+		int to = Integer.parseInt(parts[1]);
+		int step = parts.length > 2 ? Integer.parseInt(parts[2]) : 1;
+		if (parts.length > 3 || to < from || step < 1) {
+			throw new IllegalArgumentException("not a range from:to:step going up: " + arg[index]);
+		}
+		int[] values = new int[(to - from) / step + 1];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = from + i * step;
+		}
+		return values;
+	}
+
+	/**
+	 * splits the games in half until a slice is small enough to play directly, every slice flies
+	 * its games one after another in a single reused simulation
+	 */
+	private static class GameTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		// tasks are never serialized
+		private final transient Autopilot autopilot;
+		private final transient Tuning tuning;
+		private final transient CollisionMasks masks;
+		private final long seed;
+		private final int ticks;
+		private final int[] lived, scores;
+		private final int start, end;
+
+		GameTask (Autopilot autopilot, Tuning tuning, CollisionMasks masks, long seed, int ticks,
+				int[] lived, int[] scores, int start, int end) {
+			this.autopilot = autopilot;
+			this.tuning = tuning;
+			this.masks = masks;
+			this.seed = seed;
+			this.ticks = ticks;
+			this.lived = lived;
+			this.scores = scores;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute () {
+			if (end - start > SLICE) {
+				int middle = (start + end) >>> 1;
+				invokeAll(new GameTask(autopilot, tuning, masks, seed, ticks, lived, scores, start, middle),
+						new GameTask(autopilot, tuning, masks, seed, ticks, lived, scores, middle, end));
+				return;
+			}
+
+			Simulation sim = new Simulation(seed + start, masks, tuning, Difficulty.DEFAULT);
+			for (int i = start; i < end; i++) {
+				sim.reset(seed + i);
+				int tick = 0;
+				while (tick < ticks) {
+					if (autopilot.shouldJump(sim)) {
+						sim.jump();
+					}
+					tick++;
+					if (!sim.step()) {
+						break;
+					}
+				}
+				lived[i] = tick;
+				scores[i] = sim.getScore();
+			}
+		}
+	}
+}
@@ -2,14 +2,117 @@ package com.mygdx.game.desktop;
 
 import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
+import com.badlogic.gdx.math.MathUtils;
 import com.mygdx.game.FlappyGame;
+import com.mygdx.game.GameOptions;
+import com.mygdx.game.profiling.QualityGovernor;
+import com.mygdx.game.replay.ReplayScript;
+import com.mygdx.game.states.GameStateManager;
 
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * starts the game in a window, pass --sim-thread to step the simulation on a thread of its own
+ * and --autoplay to have the autopilot play by itself (for soak testing a build overnight),
+ * --ghosts races against the runs of the last session
+ *
+ * --benchmark times frames of play with no vsync or frame cap and writes a json report (see
+ * FrameBenchmark). every frame steps the game one tick, so two builds draw the same frames:
+ * --frames=N frames of play are timed (3600), --script=bot lets the autopilot play from
+ * --seed=N (1) and --script=FILE plays the runs of a replay file instead, --report=FILE is
+ * where the report goes (benchmark.json). --software-gl lets lwjgl fall back to a software
+ * renderer, on linux machines with no gpu run it with LIBGL_ALWAYS_SOFTWARE=1 under xvfb
+ *
+ * --quality=N pins the render scale and detail to a level of the QualityGovernor (0 is
+ * everything) and --quality=auto lets it follow the frame times. a benchmark is pinned to 0
+ * unless told otherwise so frame times compare, play follows the frame times
+ */
 public class DesktopLauncher {
-	public static void main (String[] arg) {
+	public static void main (String[] arg) throws IOException {
+		GameOptions options = new GameOptions();
+		boolean benchmark = false;
+		boolean softwareGl = false;
+		int frames = 3600;
+		String script = "bot";
+		long seed = 1L;
+		String report = "benchmark.json";
+		String quality = null;
+		for (String a : arg) {
+			if (a.equals("--sim-thread")) {
+				options.simulationThread = true;
+			} else if (a.equals("--autoplay")) {
+				options.autoplay = true;
+			} else if (a.equals("--ghosts")) {
+				options.ghosts = true;
+			} else if (a.equals("--benchmark")) {
+				benchmark = true;
+			} else if (a.equals("--software-gl")) {
+				softwareGl = true;
+			} else if (a.startsWith("--frames=")) {
+				frames = Integer.parseInt(value(a));
+			} else if (a.startsWith("--script=")) {
+				script = value(a);
+			} else if (a.startsWith("--seed=")) {
+				seed = Long.parseLong(value(a));
+			} else if (a.startsWith("--report=")) {
+				report = value(a);
+			} else if (a.startsWith("--quality=")) {
+				quality = value(a);
+			}
+		}
+
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
 		config.width = FlappyGame.WIDTH;
 		config.height = FlappyGame.HEIGHT;
 		config.title = FlappyGame.TITLE;
-		new LwjglApplication(new FlappyGame(), config);
+		config.allowSoftwareMode = softwareGl;
+		if (quality == null) {
+			quality = benchmark ? "0" : "auto";
+		}
+		options.qualityLevel = quality.equals("auto") ? QualityGovernor.ADAPTIVE : Integer.parseInt(quality);
+		if (!benchmark) {
+			new LwjglApplication(new FlappyGame(options), config);
+			return;
+		}
+
+		config.vSyncEnabled = false;
+		config.foregroundFPS = 0;
+		config.backgroundFPS = 0;
+		if (script.equals("bot")) {
+			MathUtils.random.setSeed(seed); // the seeds of the runs
+			options.autoplay = true;
+		} else {
+			// read before the game records over the replay file, scripts step on the render thread
+			options.simulationThread = false;
+			options.autoplay = false;
+			options.script = loadScript(script);
+		}
+		options.frameDelta = GameStateManager.STEP;
+		new LwjglApplication(new FrameBenchmark(new FlappyGame(options), frames, script, new File(report)), config);
+	}
+
+	/**
+	 * what comes after the = of an argument
+	 */
+	private static String value (String a) {
+		return a.substring(a.indexOf('=') + 1);
+	}
+
+	/**
+	 * reads the runs of a replay file to play
+	 */
+	private static ReplayScript loadScript (String path) throws IOException {
+		InputStream in = new BufferedInputStream(new FileInputStream(path));
+		try {
+			ReplayScript script = ReplayScript.load(in);
+			System.out.println("Playing " + script.getRuns() + " runs of " + path);
+			return script;
+		} finally {
+			in.close();
+		}
 	}
 }
@@ -0,0 +1,215 @@
+package com.mygdx.game.desktop;
+
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.mygdx.game.FlappyGame;
+import com.mygdx.game.profiling.Histogram;
+import com.mygdx.game.profiling.QualityGovernor;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+
+/**
+ * runs the game for a fixed number of frames of play and writes how long they took to a json
+ * report, to compare the rendering of two builds (see DesktopLauncher --benchmark)
+ *
+ * frames are only counted once the play state is on top, the loading and menu frames are left
+ * out. two times are kept of every frame: from the start of one frame to the start of the next
+ * (what the player sees, swapping buffers included) and the time spent in the game's render. the
+ * collections and heap of the garbage collector are read when counting starts and ends, and what
+ * the quality governor decided (or the level it was pinned to) is written with them
+ */
+public class FrameBenchmark implements ApplicationListener {
+	private static final float[] PERCENTILES = {50, 90, 95, 99, 99.9f};
+	private static final String[] NAMES = {"p50", "p90", "p95", "p99", "p999"};
+
+	private final FlappyGame game;
+	private final int frames;
+	private final String script;
+	private final File report;
+	private final Histogram frameTimes = new Histogram(); // start of a frame to the start of the next
+	private final Histogram renderTimes = new Histogram(); // time in the game's render
+	private long started; // when counting started, 0 until play starts
+	private long last; // when the last counted frame started
+	private boolean done;
+
+	private List<GarbageCollectorMXBean> collectors;
+	private long[] collections; // of each collector when counting started
+	private long[] collectionMillis;
+	private long heapUsed, heapCommitted;
+
+	/**
+	 * constructor method
+	 * @param game the game to run, with its script or autoplay already set
+	 * @param frames how many frames of play to time as an int
+	 * @param script what plays the game, for the report as a String
+	 * @param report the file to write the json report to
+	 */
+	public FrameBenchmark (FlappyGame game, int frames, String script, File report) {
+		this.game = game;
+		this.frames = frames;
+		this.script = script;
+		this.report = report;
+	}
+
+	@Override
+	public void create () {
+		game.create();
+	}
+
+	@Override
+	public void resize (int width, int height) {
+		game.resize(width, height);
+	}
+
+	/**
+	 * renders a frame of the game, timing it once play has started, and closes the game once
+	 * every frame is timed
+	 */
+	@Override
+	public void render () {
+		if (done) {
+			return;
+		}
+		long now = System.nanoTime();
+		if (started != 0) {
+			frameTimes.record(now - last);
+		} else if (game.isPlaying()) {
+			begin(now);
+		}
+		last = now;
+		game.render();
+		if (started != 0) {
+			renderTimes.record(System.nanoTime() - now);
+		}
+
+		if (frameTimes.getCount() == frames) {
+			done = true;
+			writeReport(System.nanoTime());
+			Gdx.app.exit();
+		}
+	}
+
+	@Override
+	public void pause () {
+		game.pause();
+	}
+
+	@Override
+	public void resume () {
+		game.resume();
+	}
+
+	@Override
+	public void dispose () {
+		game.dispose();
+	}
+
+	/**
+	 * starts counting, taking the collections and heap so far
+	 */
+	private void begin (long now) {
+		started = now;
+		collectors = ManagementFactory.getGarbageCollectorMXBeans();
+		collections = new long[collectors.size()];
+		collectionMillis = new long[collectors.size()];
+		for (int i = 0; i < collections.length; i++) {
+			collections[i] = collectors.get(i).getCollectionCount();
+			collectionMillis[i] = collectors.get(i).getCollectionTime();
+		}
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		heapUsed = memory.getHeapMemoryUsage().getUsed();
+		heapCommitted = memory.getHeapMemoryUsage().getCommitted();
+	}
+
+	/**
+	 * writes the report and a line about it
+	 */
+	private void writeReport (long now) {
+		double seconds = (now - started) / 1e9;
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		long used = memory.getHeapMemoryUsage().getUsed();
+		long committed = memory.getHeapMemoryUsage().getCommitted();
+		long totalCollections = 0;
+
+		try {
+			JsonWriter json = new JsonWriter(new FileWriter(report));
+			json.setOutputType(JsonWriter.OutputType.json);
+			json.object()
+					.set("frames", frames)
+					.set("script", script)
+					.set("seconds", seconds)
+					.set("fps", frames / seconds)
+					.set("renderer", Gdx.gl.glGetString(GL20.GL_RENDERER))
+					.set("java", System.getProperty("java.version"));
+			writeTimes(json, "frame_us", frameTimes);
+			writeTimes(json, "render_us", renderTimes);
+
+			json.array("gc");
+			for (int i = 0; i < collections.length; i++) {
+				long count = collectors.get(i).getCollectionCount() - collections[i];
+				totalCollections += count;
+				json.object()
+						.set("name", collectors.get(i).getName())
+						.set("collections", count)
+						.set("millis", collectors.get(i).getCollectionTime() - collectionMillis[i])
+						.pop();
+			}
+			json.pop();
+
+			json.object("heap")
+					.set("used_start", heapUsed)
+					.set("used_end", used)
+					.set("used_delta", used - heapUsed)
+					.set("committed_start", heapCommitted)
+					.set("committed_end", committed)
+					.set("committed_delta", committed - heapCommitted)
+					.pop();
+
+			QualityGovernor quality = game.getQuality();
+			json.object("quality")
+					.set("adaptive", quality.getPinned() == QualityGovernor.ADAPTIVE);
+			if (quality.getPinned() != QualityGovernor.ADAPTIVE) {
+				json.set("pinned_level", quality.getPinned());
+			}
+			json.set("level", quality.getLevel())
+					.set("drops", quality.getDrops())
+					.set("raises", quality.getRaises())
+					.set("missed", quality.getMissed());
+			json.array("frames_at_level");
+			for (int level = 0; level < QualityGovernor.LEVELS; level++) {
+				json.value(quality.getFramesAt(level));
+			}
+			json.pop();
+			json.pop();
+			json.pop();
+			json.close();
+		} catch (IOException e) {
+			System.out.println("Could not write " + report + ": " + e.getMessage());
+			return;
+		}
+
+		System.out.println(frames + " frames in " + (long) (seconds * 1000) + "ms (" + (long) (frames / seconds)
+				+ " fps), p99 " + frameTimes.totalPercentile(99) / 1000 + "us, collections: " + totalCollections
+				+ ", written to " + report);
+	}
+
+	/**
+	 * writes the percentiles and worst of a histogram in microseconds
+	 */
+	private static void writeTimes (JsonWriter json, String name, Histogram times) throws IOException {
+		json.object(name);
+		for (int i = 0; i < PERCENTILES.length; i++) {
+			json.set(NAMES[i], times.totalPercentile(PERCENTILES[i]) / 1000);
+		}
+		json.set("max", times.getWorst() / 1000);
+		json.pop();
+	}
+}
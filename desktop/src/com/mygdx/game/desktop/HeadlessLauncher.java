@@ -0,0 +1,67 @@
+package com.mygdx.game.desktop;
+
+import com.mygdx.game.sim.Actors;
+import com.mygdx.game.sim.CollisionMasks;
+import com.mygdx.game.sim.ObstacleGrid;
+import com.mygdx.game.sim.Simulation;
+import com.mygdx.game.sim.TubeBody;
+
+import java.io.IOException;
+
+/**
+ * steps the game simulation with no window, graphics or sound and prints how fast it ran
+ *
+ * the bird is flown by a very simple rule (jump when falling below the next opening) so runs
+ * last long enough to exercise the tubes, usage: HeadlessLauncher [ticks] [seed]
+ */
+public class HeadlessLauncher {
+	public static void main (String[] arg) throws IOException {
+		long ticks = arg.length > 0 ? Long.parseLong(arg[0]) : 10000000L;
+		long seed = arg.length > 1 ? Long.parseLong(arg[1]) : 1L;
+
+		CollisionMasks masks = Masks.load();
+		Simulation sim = new Simulation(seed, masks);
+		long runs = 0;
+		long bestScore = 0;
+		long totalScore = 0;
+
+		long start = System.nanoTime();
+		for (long i = 0; i < ticks; i++) {
+			if (shouldJump(sim)) {
+				sim.jump();
+			}
+			if (!sim.step()) {
+				runs++;
+				totalScore += sim.getScore();
+				bestScore = Math.max(bestScore, sim.getScore());
+				sim = new Simulation(++seed, masks);
+			}
+		}
+		long nanos = System.nanoTime() - start;
+
+		System.out.println("ticks: " + ticks + " in " + (nanos / 1000000) + "ms ("
+				+ (long) (ticks / (nanos / 1e9)) + " ticks/s)");
+		System.out.println("finished runs: " + runs + ", best score: " + bestScore + ", mean score: "
+				+ (runs > 0 ? (float) totalScore / runs : 0) + ", current run score: " + sim.getScore());
+	}
+
+	/**
+	 * jumps when the bird is falling and below the middle of the next opening
+	 */
+	private static boolean shouldJump (Simulation sim) {
+		Actors actors = sim.getActors();
+		int bird = sim.getBird();
+		ObstacleGrid grid = sim.getGrid();
+		int found = grid.query(actors.getX(bird) - TubeBody.WIDTH, sim.getViewTo());
+		int next = -1;
+		for (int i = 0; i < found; i++) {
+			int a = grid.getFound(i);
+			if (actors.has(a, Actors.OBSTACLE) && actors.getX(a) + TubeBody.WIDTH > actors.getX(bird)
+					&& (next == -1 || actors.getX(a) < actors.getX(next))) {
+				next = a;
+			}
+		}
+		float target = actors.getY(next) - actors.getGap(next) + 30;
+		return actors.getVelocityY(bird) < 0 && actors.getY(bird) < target;
+	}
+}
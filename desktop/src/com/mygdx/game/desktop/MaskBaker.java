@@ -0,0 +1,88 @@
+package com.mygdx.game.desktop;
+
+import com.mygdx.game.assets.AssetCache;
+import com.mygdx.game.sim.BirdBody;
+import com.mygdx.game.sim.BitMask;
+import com.mygdx.game.sim.CollisionMasks;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.imageio.ImageIO;
+
+/**
+ * makes masks.bin from the bird and tube images, to be run again whenever one of them changes
+ * (gradlew desktop:masks) and the new masks.bin committed. CollisionMasksFileTest in core fails
+ * while the committed file does not match the images
+ *
+ * a pixel is solid when its alpha is at least ALPHA_THRESHOLD. the rows are flipped so the masks
+ * go from the bottom up like the game does
+ *
+ * usage: MaskBaker [assets folder], by default the working directory
+ */
+public class MaskBaker {
+	private static final int ALPHA_THRESHOLD = 128;
+
+	public static void main (String[] arg) throws IOException {
+		File dir = new File(arg.length > 0 ? arg[0] : ".");
+
+		BufferedImage sheet = ImageIO.read(new File(dir, "birdanimation.png"));
+		int frameWidth = sheet.getWidth() / BirdBody.FRAMES;
+		BitMask[] bird = new BitMask[BirdBody.FRAMES];
+		for (int i = 0; i < BirdBody.FRAMES; i++) {
+			bird[i] = bake(sheet, i * frameWidth, frameWidth);
+		}
+		BufferedImage top = ImageIO.read(new File(dir, "toptube.png"));
+		BufferedImage bottom = ImageIO.read(new File(dir, "bottomtube.png"));
+		CollisionMasks masks = new CollisionMasks(bird, bake(top, 0, top.getWidth()), bake(bottom, 0, bottom.getWidth()));
+
+		File file = new File(dir, AssetCache.MASKS);
+		OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+		try {
+			masks.write(out);
+		} finally {
+			out.close();
+		}
+
+		for (int i = 0; i < BirdBody.FRAMES; i++) {
+			System.out.println("bird frame " + i + ": " + solid(bird[i]) + " of " + frameWidth * sheet.getHeight() + " pixels solid");
+		}
+		System.out.println("top tube: " + solid(masks.getTopTube()) + " solid, bottom tube: " + solid(masks.getBottomTube()) + " solid");
+		System.out.println("wrote " + file.getPath() + " (" + file.length() + " bytes)");
+	}
+
+	/**
+	 * turns a strip of an image into a mask
+	 */
+	private static BitMask bake (BufferedImage image, int left, int width) {
+		int height = image.getHeight();
+		int words = BitMask.wordsPerRow(width);
+		long[] bits = new long[words * height];
+		for (int y = 0; y < height; y++) {
+			int row = (height - 1 - y) * words; // images go top down, masks bottom up
+			for (int x = 0; x < width; x++) {
+				int alpha = image.getRGB(left + x, y) >>> 24;
+				if (alpha >= ALPHA_THRESHOLD) {
+					bits[row + (x >> 6)] |= 1L << (x & 63);
+				}
+			}
+		}
+		return new BitMask(width, height, bits);
+	}
+
+	private static int solid (BitMask mask) {
+		int count = 0;
+		for (int y = 0; y < mask.getHeight(); y++) {
+			for (int x = 0; x < mask.getWidth(); x++) {
+				if (mask.get(x, y)) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+}
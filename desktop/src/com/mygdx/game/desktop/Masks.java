@@ -0,0 +1,31 @@
+package com.mygdx.game.desktop;
+
+import com.mygdx.game.assets.AssetCache;
+import com.mygdx.game.sim.CollisionMasks;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * reads the collision masks the game plays with, so the launchers with no window collide the
+ * same way the game does
+ */
+final class Masks {
+	private Masks () {
+	}
+
+	/**
+	 * reads masks.bin from the working directory (the assets folder when run from gradle)
+	 * @return the CollisionMasks
+	 */
+	static CollisionMasks load () throws IOException {
+		InputStream in = new BufferedInputStream(new FileInputStream(AssetCache.MASKS));
+		try {
+			return CollisionMasks.read(in);
+		} finally {
+			in.close();
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package com.mygdx.game.desktop;
+
+import com.mygdx.game.FlappyGame;
+import com.mygdx.game.replay.ReplayPlayer;
+import com.mygdx.game.sim.Simulation;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * plays a replay file back with no window and checks every run ends like it was recorded
+ *
+ * usage: ReplayLauncher [file], by default the last session recorded by the desktop game
+ */
+public class ReplayLauncher {
+	public static void main (String[] arg) throws IOException {
+		String file = arg.length > 0 ? arg[0] : FlappyGame.REPLAY_FILE;
+
+		ReplayPlayer player = new ReplayPlayer(Masks.load());
+		long start = System.nanoTime();
+		boolean matched;
+		InputStream in = new BufferedInputStream(new FileInputStream(file));
+		try {
+			matched = player.verify(in);
+		} finally {
+			in.close();
+		}
+		long nanos = System.nanoTime() - start;
+
+		System.out.println(file + ": " + player.getRuns() + " runs, " + player.getTicks() + " ticks played in "
+				+ (nanos / 1000000) + "ms (" + (long) (player.getTicks() * Simulation.STEP * 1e9 / Math.max(1, nanos))
+				+ "x real time)");
+		System.out.println(matched ? "every run matched" : player.getMismatches() + " runs did not match");
+		if (!matched) {
+			System.exit(1);
+		}
+	}
+}